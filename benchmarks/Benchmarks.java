@@ -0,0 +1,390 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks das estruturas (Lista, ListaIndexada, ListaDesenrolada, Fila, FilaConcorrente, Pilha), da carga do catálogo e da valoração de pedidos.
+ * Cada caso é preparado para cada tamanho pedido (a preparação não é medida) e então medido pelo MedidorDesempenho.
+ *
+ * Uso: java -cp out Benchmarks [--tamanhos 1000,100000,1000000] [--filtro texto]
+ *      [--aquecimento 3] [--iteracoes 5] [--tempo 1000] [--arquivo produtos.txt]
+ */
+public class Benchmarks {
+
+    /** Prepara o caso para um tamanho e devolve a operação a ser medida. */
+    @FunctionalInterface
+    interface Preparador {
+        MedidorDesempenho.Operacao preparar(int tamanho) throws Exception;
+    }
+
+    private static final Integer VALOR = 42;
+    private static final Map<String, Preparador> CASOS = new LinkedHashMap<>();
+    private static final Map<String, Preparador> CASOS_SEM_TAMANHO = new LinkedHashMap<>();
+
+    private static String arquivoProdutos = "produtos.txt";
+
+    /** Produtores (e consumidores) nos casos de fila compartilhada: metade dos processadores, ao menos 1 */
+    private static final int PARES_PRODUTOR_CONSUMIDOR = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Threads dos casos de fila compartilhada, criadas uma vez e reaproveitadas entre as operações */
+    private static ExecutorService threadsTransferencia;
+
+    static {
+        CASOS.put("Lista.inserir(final)+remover()", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> {
+                lista.inserir(VALOR);
+                return lista.remover();
+            };
+        });
+        CASOS.put("Lista.inserir(meio)+remover(meio)", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            int meio = tamanho / 2;
+            return () -> {
+                lista.inserir(VALOR, meio);
+                return lista.remover(meio);
+            };
+        });
+        CASOS.put("Lista.elementoNaPosicao(meio)", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            int meio = tamanho / 2;
+            return () -> lista.elementoNaPosicao(meio);
+        });
+        CASOS.put("Lista.localizar(ultimo)", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            int ultimo = tamanho - 1;
+            return () -> lista.localizar(x -> x == ultimo);
+        });
+        CASOS.put("Lista.contarRepeticoes", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> lista.contarRepeticoes(x -> (x & 1) == 0);
+        });
+        CASOS.put("Lista.calcularValorTotal", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> lista.calcularValorTotal(x -> (double) x);
+        });
+        CASOS.put("Lista.somar", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> lista.somar(x -> x);
+        });
+        CASOS.put("Lista.somarParalelo", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> lista.somarParalelo(x -> x);
+        });
+        CASOS.put("Lista.contarRepeticoesParalelo", tamanho -> {
+            Lista<Integer> lista = listaCom(tamanho);
+            return () -> lista.contarRepeticoesParalelo(x -> (x & 1) == 0);
+        });
+        CASOS.put("ListaIndexada.inserir(final)+remover()", tamanho -> {
+            ListaIndexada<Integer> lista = listaIndexadaCom(tamanho);
+            return () -> {
+                lista.inserir(VALOR);
+                return lista.remover();
+            };
+        });
+        CASOS.put("ListaIndexada.inserir(meio)+remover(meio)", tamanho -> {
+            ListaIndexada<Integer> lista = listaIndexadaCom(tamanho);
+            int meio = tamanho / 2;
+            return () -> {
+                lista.inserir(VALOR, meio);
+                return lista.remover(meio);
+            };
+        });
+        CASOS.put("ListaIndexada.elementoNaPosicao(meio)", tamanho -> {
+            ListaIndexada<Integer> lista = listaIndexadaCom(tamanho);
+            int meio = tamanho / 2;
+            return () -> lista.elementoNaPosicao(meio);
+        });
+        CASOS.put("ListaIndexada.localizar(ultimo)", tamanho -> {
+            ListaIndexada<Integer> lista = listaIndexadaCom(tamanho);
+            int ultimo = tamanho - 1;
+            return () -> lista.localizar(x -> x == ultimo);
+        });
+        CASOS.put("ListaDesenrolada.inserir(final)+remover()", tamanho -> {
+            ListaDesenrolada<Integer> lista = listaDesenroladaCom(tamanho);
+            return () -> {
+                lista.inserir(VALOR);
+                return lista.remover();
+            };
+        });
+        CASOS.put("ListaDesenrolada.inserir(meio)+remover(meio)", tamanho -> {
+            ListaDesenrolada<Integer> lista = listaDesenroladaCom(tamanho);
+            int meio = tamanho / 2;
+            return () -> {
+                lista.inserir(VALOR, meio);
+                return lista.remover(meio);
+            };
+        });
+        CASOS.put("ListaDesenrolada.localizar(ultimo)", tamanho -> {
+            ListaDesenrolada<Integer> lista = listaDesenroladaCom(tamanho);
+            int ultimo = tamanho - 1;
+            return () -> lista.localizar(x -> x == ultimo);
+        });
+        CASOS.put("ListaDesenrolada.contarRepeticoes", tamanho -> {
+            ListaDesenrolada<Integer> lista = listaDesenroladaCom(tamanho);
+            return () -> lista.contarRepeticoes(x -> (x & 1) == 0);
+        });
+        CASOS.put("Lista.montar", tamanho -> () -> listaCom(tamanho));
+        CASOS.put("ListaDesenrolada.montar", tamanho -> () -> listaDesenroladaCom(tamanho));
+        CASOS.put("Fila.enfileirar+desenfileirar", tamanho -> {
+            Fila<Integer> fila = new Fila<>();
+            for (int i = 0; i < tamanho; i++) {
+                fila.enfileirar(i);
+            }
+            return () -> {
+                fila.enfileirar(fila.consultarPrimeiro());
+                return fila.desenfileirar();
+            };
+        });
+        CASOS.put("FilaCircular.enfileirar+desenfileirar", tamanho -> {
+            FilaCircular<Integer> fila = new FilaCircular<>();
+            for (int i = 0; i < tamanho; i++) {
+                fila.enfileirar(i);
+            }
+            return () -> {
+                fila.enfileirar(VALOR);
+                return fila.desenfileirar();
+            };
+        });
+        CASOS.put("FilaConcorrente(" + PARES_PRODUTOR_CONSUMIDOR + "p/" + PARES_PRODUTOR_CONSUMIDOR + "c)", tamanho -> {
+            FilaConcorrente<Integer> fila = new FilaConcorrente<>();
+            return transferencia(tamanho, fila::enfileirar, () -> {
+                if (fila.vazia()) {
+                    return null;
+                }
+                try {
+                    return fila.desenfileirar();
+                } catch (NoSuchElementException e) {
+                    return null; // Outro consumidor retirou o último item entre a consulta e a retirada
+                }
+            });
+        });
+        CASOS.put("Fila sincronizada(" + PARES_PRODUTOR_CONSUMIDOR + "p/" + PARES_PRODUTOR_CONSUMIDOR + "c)", tamanho -> {
+            Fila<Integer> fila = new Fila<>();
+            return transferencia(tamanho, item -> {
+                synchronized (fila) {
+                    fila.enfileirar(item);
+                }
+            }, () -> {
+                synchronized (fila) {
+                    return fila.vazia() ? null : fila.desenfileirar();
+                }
+            });
+        });
+        CASOS.put("Pilha.subPilha(metade)", tamanho -> {
+            Pilha<Integer> pilha = new Pilha<>();
+            for (int i = 0; i < tamanho; i++) {
+                pilha.empilhar(i);
+            }
+            int metade = tamanho / 2;
+            return () -> pilha.subPilha(metade);
+        });
+        CASOS.put("Pedido.incluirProduto", tamanho -> {
+            Produto[] produtos = produtosSinteticos(Math.min(tamanho, 10_000));
+            Pedido pedido = new Pedido();
+            int[] proximo = {0};
+            return () -> {
+                int i = proximo[0];
+                proximo[0] = (i + 1 == produtos.length) ? 0 : i + 1;
+                return pedido.incluirProduto(produtos[i]);
+            };
+        });
+        CASOS.put("Pedido.valorFinal", tamanho -> {
+            Produto[] produtos = produtosSinteticos(Math.min(tamanho, 10_000));
+            Pedido pedido = new Pedido();
+            for (int i = 0; i < tamanho; i++) {
+                pedido.incluirProduto(produtos[i % produtos.length]);
+            }
+            return pedido::valorFinal;
+        });
+        CASOS.put("CarregadorProdutos(sintetico)", tamanho -> {
+            Path arquivo = catalogoSintetico(tamanho);
+            return () -> CarregadorProdutos.carregar(arquivo);
+        });
+
+        CASOS_SEM_TAMANHO.put("CarregadorProdutos(" + "produtos.txt" + ")", tamanho -> {
+            Path arquivo = Paths.get(arquivoProdutos);
+            return () -> CarregadorProdutos.carregar(arquivo);
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] tamanhos = {1_000, 100_000, 1_000_000};
+        String filtro = "";
+        int aquecimento = 3;
+        int iteracoes = 5;
+        long tempo = 1000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--tamanhos":
+                    String[] partes = args[i + 1].split(",");
+                    tamanhos = new int[partes.length];
+                    for (int j = 0; j < partes.length; j++) {
+                        tamanhos[j] = Integer.parseInt(partes[j].trim().replace("_", ""));
+                    }
+                    break;
+                case "--filtro":
+                    filtro = args[i + 1];
+                    break;
+                case "--aquecimento":
+                    aquecimento = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--iteracoes":
+                    iteracoes = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--tempo":
+                    tempo = Long.parseLong(args[i + 1]);
+                    break;
+                case "--arquivo":
+                    arquivoProdutos = args[i + 1];
+                    break;
+                default:
+                    System.err.println("Opção desconhecida: " + args[i]);
+                    return;
+            }
+        }
+
+        MedidorDesempenho medidor = new MedidorDesempenho(aquecimento, iteracoes, tempo);
+        System.out.println(MedidorDesempenho.cabecalho());
+        for (Map.Entry<String, Preparador> caso : CASOS_SEM_TAMANHO.entrySet()) {
+            if (caso.getKey().contains(filtro)) {
+                long linhas;
+                try (Stream<String> arquivo = Files.lines(Paths.get(arquivoProdutos))) {
+                    linhas = arquivo.count() - 1;
+                }
+                executar(medidor, caso.getKey(), linhas, caso.getValue(), 0);
+            }
+        }
+        for (Map.Entry<String, Preparador> caso : CASOS.entrySet()) {
+            if (!caso.getKey().contains(filtro)) {
+                continue;
+            }
+            for (int tamanho : tamanhos) {
+                executar(medidor, caso.getKey(), tamanho, caso.getValue(), tamanho);
+            }
+        }
+    }
+
+    private static void executar(MedidorDesempenho medidor, String nome, long tamanhoInformado, Preparador preparador, int tamanho)
+            throws Exception {
+        MedidorDesempenho.Operacao operacao = preparador.preparar(tamanho);
+        System.gc();
+        System.out.println(medidor.medir(nome, tamanhoInformado, operacao));
+    }
+
+    /**
+     * Operação que transfere 'tamanho' itens por uma fila compartilhada, com PARES_PRODUTOR_CONSUMIDOR produtores
+     * e o mesmo número de consumidores, terminando quando todos os itens forem retirados.
+     * A vazão em itens/s é op/s multiplicado pelo tamanho.
+     */
+    private static MedidorDesempenho.Operacao transferencia(int tamanho, Consumer<Integer> enfileirar, Supplier<Integer> retirar) {
+        synchronized (Benchmarks.class) {
+            if (threadsTransferencia == null) {
+                threadsTransferencia = Executors.newFixedThreadPool(2 * PARES_PRODUTOR_CONSUMIDOR, tarefa -> {
+                    Thread thread = new Thread(tarefa, "bench-fila");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+        int porThread = Math.max(1, tamanho / PARES_PRODUTOR_CONSUMIDOR);
+        return () -> {
+            CountDownLatch fim = new CountDownLatch(2 * PARES_PRODUTOR_CONSUMIDOR);
+            for (int t = 0; t < PARES_PRODUTOR_CONSUMIDOR; t++) {
+                threadsTransferencia.execute(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        enfileirar.accept(VALOR);
+                    }
+                    fim.countDown();
+                });
+                threadsTransferencia.execute(() -> {
+                    for (int i = 0; i < porThread; ) {
+                        if (retirar.get() != null) {
+                            i++;
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    fim.countDown();
+                });
+            }
+            fim.await();
+            return fim;
+        };
+    }
+
+    private static Lista<Integer> listaCom(int tamanho) {
+        Lista<Integer> lista = new Lista<>();
+        for (int i = 0; i < tamanho; i++) {
+            lista.inserir(i);
+        }
+        return lista;
+    }
+
+    private static ListaIndexada<Integer> listaIndexadaCom(int tamanho) {
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        for (int i = 0; i < tamanho; i++) {
+            lista.inserir(i);
+        }
+        return lista;
+    }
+
+    private static ListaDesenrolada<Integer> listaDesenroladaCom(int tamanho) {
+        ListaDesenrolada<Integer> lista = new ListaDesenrolada<>();
+        for (int i = 0; i < tamanho; i++) {
+            lista.inserir(i);
+        }
+        return lista;
+    }
+
+    private static Produto[] produtosSinteticos(int quantidade) {
+        Produto[] produtos = new Produto[quantidade];
+        LocalDate validade = LocalDate.now().plusYears(1);
+        for (int i = 0; i < quantidade; i++) {
+            produtos[i] = (i % 10 == 0)
+                    ? new ProdutoPerecivel("Perecível sintético " + i, 1 + i % 50, 0.3, validade)
+                    : new ProdutoNaoPerecivel("Produto sintético " + i, 1 + i % 50, 0.4);
+        }
+        return produtos;
+    }
+
+    /** Gera (uma vez por tamanho) um arquivo de catálogo no formato de produtos.txt, com 10% de perecíveis. */
+    private static Path catalogoSintetico(int quantidade) throws IOException {
+        Path arquivo = Paths.get(System.getProperty("java.io.tmpdir"), "produtos-sintetico-" + quantidade + ".txt");
+        if (Files.exists(arquivo)) {
+            return arquivo;
+        }
+        String validade = LocalDate.now().plusYears(1).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write(Integer.toString(quantidade));
+            saida.write('\n');
+            for (int i = 0; i < quantidade; i++) {
+                int centavos = 100 + (i * 37) % 9_900;
+                String custo = (centavos / 100) + "," + String.format("%02d", centavos % 100);
+                if (i % 10 == 0) {
+                    saida.write("2;Perecível sintético " + i + ";" + custo + ";0,30;" + validade);
+                } else {
+                    saida.write("1;Produto sintético " + i + ";" + custo + ";0,45");
+                }
+                saida.write('\n');
+            }
+        }
+        arquivo.toFile().deleteOnExit();
+        return arquivo;
+    }
+}
@@ -0,0 +1,142 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Teste de estresse da FilaConcorrente: vários produtores e consumidores usam a mesma fila ao mesmo tempo,
+ * e ao final confere-se que cada item foi retirado exatamente uma vez e que cada consumidor recebeu os itens
+ * de um mesmo produtor na ordem em que foram enfileirados. Repete o teste por várias rodadas e informa a vazão.
+ *
+ * Uso: java -cp out EstresseFilaConcorrente [--produtores 4] [--consumidores 4] [--itens 250000] [--rodadas 10]
+ * Termina com código 1 se alguma rodada falhar.
+ */
+public class EstresseFilaConcorrente {
+
+    public static void main(String[] args) throws Exception {
+        int produtores = 4;
+        int consumidores = 4;
+        int itensPorProdutor = 250_000;
+        int rodadas = 10;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--produtores":
+                    produtores = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--consumidores":
+                    consumidores = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--itens":
+                    itensPorProdutor = Integer.parseInt(args[i + 1].replace("_", ""));
+                    break;
+                case "--rodadas":
+                    rodadas = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Opção desconhecida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        boolean falhou = false;
+        for (int rodada = 1; rodada <= rodadas; rodada++) {
+            long inicio = System.nanoTime();
+            String erro = executarRodada(produtores, consumidores, itensPorProdutor);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            long total = (long) produtores * itensPorProdutor;
+            System.out.printf("Rodada %2d: %d produtores, %d consumidores, %d itens em %.3f s (%.0f itens/s) %s%n",
+                    rodada, produtores, consumidores, total, segundos, total / segundos, (erro == null) ? "OK" : "FALHA: " + erro);
+            falhou |= (erro != null);
+        }
+        System.exit(falhou ? 1 : 0);
+    }
+
+    /**
+     * Executa uma rodada e retorna a descrição do primeiro problema encontrado, ou null se a fila se comportou bem.
+     * Cada item é o número do produtor * itensPorProdutor + a sequência dele.
+     */
+    private static String executarRodada(int produtores, int consumidores, int itensPorProdutor) throws InterruptedException {
+        FilaConcorrente<Integer> fila = new FilaConcorrente<>();
+        int total = produtores * itensPorProdutor;
+        AtomicInteger restantes = new AtomicInteger(total);
+        AtomicReference<String> erro = new AtomicReference<>();
+        BitSet[] recebidos = new BitSet[consumidores];
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] threads = new Thread[produtores + consumidores];
+
+        for (int p = 0; p < produtores; p++) {
+            int base = p * itensPorProdutor;
+            threads[p] = new Thread(() -> {
+                aguardar(largada);
+                for (int i = 0; i < itensPorProdutor; i++) {
+                    fila.enfileirar(base + i);
+                }
+            }, "produtor-" + p);
+        }
+        for (int c = 0; c < consumidores; c++) {
+            BitSet meus = new BitSet(total);
+            recebidos[c] = meus;
+            threads[produtores + c] = new Thread(() -> {
+                int[] ultimoPorProdutor = new int[produtores];
+                Arrays.fill(ultimoPorProdutor, -1);
+                aguardar(largada);
+                while (restantes.get() > 0 && erro.get() == null) {
+                    Integer item;
+                    try {
+                        item = fila.desenfileirar();
+                    } catch (NoSuchElementException e) {
+                        Thread.onSpinWait(); // Vazia no momento: os produtores ainda não terminaram
+                        continue;
+                    }
+                    restantes.decrementAndGet();
+                    int produtor = item / itensPorProdutor;
+                    int sequencia = item % itensPorProdutor;
+                    if (sequencia <= ultimoPorProdutor[produtor]) {
+                        erro.compareAndSet(null, "item " + item + " do produtor " + produtor + " retirado fora de ordem");
+                    }
+                    ultimoPorProdutor[produtor] = sequencia;
+                    meus.set(item);
+                }
+            }, "consumidor-" + c);
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (erro.get() != null) {
+            return erro.get();
+        }
+        BitSet todos = new BitSet(total);
+        long retiradas = 0;
+        for (BitSet meus : recebidos) {
+            retiradas += meus.cardinality();
+            if (todos.intersects(meus)) {
+                return "item retirado por mais de um consumidor";
+            }
+            todos.or(meus);
+        }
+        if (retiradas != total || todos.cardinality() != total) {
+            return "retirados " + todos.cardinality() + " itens distintos de " + total;
+        }
+        if (!fila.vazia()) {
+            return "a fila não ficou vazia";
+        }
+        return null;
+    }
+
+    private static void aguardar(CountDownLatch largada) {
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mede uma operação repetindo-a por intervalos de tempo fixos: primeiro iterações de aquecimento (descartadas),
+ * depois iterações medidas. Para cada caso informa vazão (op/s), tempo médio (ns/op), bytes alocados por
+ * operação e taxa de alocação (pela soma da contagem de alocação de todas as threads vivas, de modo que o trabalho
+ * feito no pool fork-join ou em outras threads também entra) e as coletas de lixo ocorridas na medição.
+ * Threads que terminam durante a medição não são contadas; os casos medidos só usam pools de threads permanentes.
+ */
+public class MedidorDesempenho {
+
+    /** Operação medida. O valor retornado é consumido para que o JIT não elimine o trabalho. */
+    @FunctionalInterface
+    public interface Operacao {
+        Object executar() throws Exception;
+    }
+
+    private final int iteracoesAquecimento;
+    private final int iteracoesMedidas;
+    private final long nanosPorIteracao;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /** Recebe o resultado de cada operação para que o trabalho não seja descartado pelo JIT */
+    private volatile Object sumidouro;
+
+    public MedidorDesempenho(int iteracoesAquecimento, int iteracoesMedidas, long milisPorIteracao) {
+        this.iteracoesAquecimento = iteracoesAquecimento;
+        this.iteracoesMedidas = iteracoesMedidas;
+        this.nanosPorIteracao = milisPorIteracao * 1_000_000L;
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.threads = (bean instanceof com.sun.management.ThreadMXBean) ? (com.sun.management.ThreadMXBean) bean : null;
+        if (threads != null && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /** Linha de cabeçalho da tabela de resultados */
+    public static String cabecalho() {
+        return String.format(Locale.ROOT, "%-40s %10s %14s %14s %12s %10s %6s %8s",
+                "caso", "tamanho", "op/s", "ns/op", "B/op", "MB/s", "gc", "gc ms");
+    }
+
+    /**
+     * Mede a operação e retorna a linha de resultado formatada.
+     * @param nome Nome do caso.
+     * @param tamanho Tamanho da estrutura usada no caso.
+     * @param operacao Operação a ser medida.
+     * @return Linha com os resultados.
+     * @throws Exception se a operação falhar.
+     */
+    public String medir(String nome, long tamanho, Operacao operacao) throws Exception {
+        for (int i = 0; i < iteracoesAquecimento; i++) {
+            executarPorUmIntervalo(operacao);
+        }
+
+        long operacoes = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long coletasAntes = totalColetas();
+        long tempoColetaAntes = tempoColetas();
+        long bytesAntes = bytesAlocados();
+        for (int i = 0; i < iteracoesMedidas; i++) {
+            long inicio = System.nanoTime();
+            operacoes += executarPorUmIntervalo(operacao);
+            nanos += System.nanoTime() - inicio;
+        }
+        long bytesDepois = bytesAlocados();
+        if (bytesAntes >= 0 && bytesDepois >= 0) {
+            bytes = bytesDepois - bytesAntes;
+        } else {
+            bytes = -1;
+        }
+
+        double opsPorSegundo = operacoes / (nanos / 1e9);
+        double nanosPorOperacao = (double) nanos / operacoes;
+        double bytesPorOperacao = (bytes < 0) ? Double.NaN : (double) bytes / operacoes;
+        double megabytesPorSegundo = (bytes < 0) ? Double.NaN : bytes / (nanos / 1e9) / (1024 * 1024);
+        return String.format(Locale.ROOT, "%-40s %10d %14.1f %14.1f %12.1f %10.1f %6d %8d",
+                nome, tamanho, opsPorSegundo, nanosPorOperacao, bytesPorOperacao, megabytesPorSegundo,
+                totalColetas() - coletasAntes, tempoColetas() - tempoColetaAntes);
+    }
+
+    private long executarPorUmIntervalo(Operacao operacao) throws Exception {
+        long operacoes = 0;
+        long fim = System.nanoTime() + nanosPorIteracao;
+        do {
+            sumidouro = operacao.executar();
+            operacoes++;
+        } while (System.nanoTime() < fim);
+        return operacoes;
+    }
+
+    /** Total alocado até agora pelas threads vivas do processo, ou -1 se a JVM não informar. */
+    private long bytesAlocados() {
+        if (threads == null || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long alocados : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (alocados > 0) {
+                total += alocados; // -1 para threads que terminaram entre a listagem e a consulta
+            }
+        }
+        return total;
+    }
+
+    private long totalColetas() {
+        long total = 0;
+        for (GarbageCollectorMXBean coletor : coletores) {
+            total += Math.max(0, coletor.getCollectionCount());
+        }
+        return total;
+    }
+
+    private long tempoColetas() {
+        long total = 0;
+        for (GarbageCollectorMXBean coletor : coletores) {
+            total += Math.max(0, coletor.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -2,14 +2,43 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class App {
 
     static String nomeArquivoDados;
     static Scanner teclado;
-    static Lista<Produto> produtosCadastrados;
+    static Catalogo produtosCadastrados;
     static Lista<Pedido> listaPedidos = new Lista<>();
+    static DiarioPedidos diarioPedidos;
+    static RepositorioPedidos repositorioPedidos = new RepositorioPedidos(listaPedidos, null);
+
+    /** Diretório do diário de pedidos finalizados */
+    static final String DIRETORIO_DIARIO = "pedidos.diario";
+
+    /** Propriedade de sistema com o arquivo em que as métricas são exportadas periodicamente e ao encerrar o programa */
+    static final String PROPRIEDADE_METRICAS = "pedidos.metricas";
+
+    /** Propriedade de sistema com o intervalo, em segundos, entre as exportações das métricas (0 exporta só ao encerrar) */
+    static final String PROPRIEDADE_INTERVALO_METRICAS = "pedidos.metricas.intervalo";
+
+    /** Intervalo padrão entre as exportações das métricas, em segundos */
+    static final long INTERVALO_METRICAS_PADRAO = 60;
+
+    /** Propriedade de sistema com o arquivo .jfr da gravação contínua do Flight Recorder, despejada ao encerrar */
+    static final String PROPRIEDADE_JFR = "pedidos.jfr";
+
+    private static final Metricas.Histograma CARGA_CATALOGO = Metricas.histograma("catalogo.carga", "ns");
+
+    /** Quantidade de produtos exibidos por página na navegação em ordem alfabética */
+    static final int PRODUTOS_POR_PAGINA = 20;
 
     static void limparTela() {
         System.out.print("\033[H\033[2J");
@@ -69,55 +98,111 @@ public class App {
         System.out.println("4 - Iniciar novo pedido");
         System.out.println("5 - Fechar pedido atual");
         System.out.println("6 - Repeticoes de um produto em um pedido finalizado");
+        System.out.println("7 - Faturamento dos pedidos finalizados");
+        System.out.println("8 - Navegar pelo catálogo em ordem alfabética");
         System.out.println("0 - Sair");
         System.out.println("-----------------------------");
         int opcao = lerOpcao("Digite sua opção: ", Integer.class);
         return opcao;
     }
 
-    static Lista<Produto> lerProdutos(String nomeArquivo) {
-    	Scanner arquivo = null;
-    	String linha;
-    	Produto produto;
-    	Lista<Produto> produtosLidos = new Lista<>();
+    static Catalogo lerProdutos(String nomeArquivo) {
+    	Catalogo produtosLidos;
+        EventosDesempenho.CargaCatalogo evento = new EventosDesempenho.CargaCatalogo();
+        long inicio = EventosDesempenho.iniciar(evento);
 
     	try {
             File file = new File(nomeArquivo);
-            System.out.println("Tentando ler arquivo: " + file.getAbsolutePath());
-    		arquivo = new Scanner(file, Charset.forName("UTF-8"));
-
-            if (arquivo.hasNextLine()) {
-                arquivo.nextLine();
+            Path retrato = RetratoBinario.caminhoPara(file.toPath());
+            produtosLidos = lerRetrato(file.toPath(), retrato);
+            if (produtosLidos != null) {
+                registrarCarga(evento, inicio, nomeArquivo, "retrato", produtosLidos);
+                System.out.println(produtosLidos.tamanho() + " produtos lidos do retrato binário " + retrato.getFileName() + ".");
+                return produtosLidos;
             }
-
-    		while (arquivo.hasNextLine()) {
-    			linha = arquivo.nextLine();
-                if (!linha.trim().isEmpty()) {
-                    try {
-                        produto = Produto.criarDoTexto(linha);
-                        if (produto != null) {
-                            produtosLidos.inserir(produto);
-                        }
-                    } catch (Exception e) {
-                        System.err.println("ERRO ao processar linha do arquivo: '" + linha + "'. Detalhe: " + e.getMessage());
-                    }
-                }
-    		}
+            System.out.println("Tentando ler arquivo: " + file.getAbsolutePath());
+            // Lidos antes da carga: se o arquivo mudar enquanto é lido, o retrato já nasce desatualizado
+            BasicFileAttributes atributosTexto = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            produtosLidos = CarregadorProdutos.carregar(file.toPath());
+            registrarCarga(evento, inicio, nomeArquivo, "texto", produtosLidos);
             System.out.println(produtosLidos.tamanho() + " produtos lidos do arquivo.");
-
+            gravarRetrato(produtosLidos, atributosTexto, retrato);
     	} catch (IOException excecaoArquivo) {
             System.err.println("ERRO GRAVE ao abrir ou ler o arquivo de produtos: " + nomeArquivo);
             System.err.println("Verifique se o arquivo existe no local correto (raiz do projeto) e tem permissão de leitura.");
             System.err.println("Detalhes do erro: " + excecaoArquivo.getMessage());
     		produtosLidos = null;
-    	} finally {
-    		if (arquivo != null) {
-                arquivo.close();
-            }
     	}
     	return produtosLidos;
     }
 
+    /** Registra a duração da carga do catálogo (sem contar a gravação do retrato) nas métricas e no Flight Recorder. */
+    private static void registrarCarga(EventosDesempenho.CargaCatalogo evento, long inicio, String arquivo, String origem, Catalogo catalogo) {
+        if (EventosDesempenho.concluir(evento, CARGA_CATALOGO, inicio)) {
+            evento.gravar(arquivo, origem, catalogo.tamanho());
+        }
+    }
+
+    /**
+     * Liga a gravação do Flight Recorder e a exportação das métricas, conforme as propriedades de sistema
+     * pedidos.jfr e pedidos.metricas (por exemplo, java -Dpedidos.metricas=metricas.txt App). As métricas são
+     * exportadas a cada pedidos.metricas.intervalo segundos, em uma thread daemon, e uma última vez ao encerrar,
+     * de modo que o arquivo fica atualizado mesmo que o processo termine sem executar os ganchos de encerramento.
+     */
+    private static void iniciarMonitoramento() {
+        String arquivoJfr = System.getProperty(PROPRIEDADE_JFR);
+        if (arquivoJfr != null) {
+            try {
+                EventosDesempenho.iniciarGravacao(Paths.get(arquivoJfr));
+                System.out.println("Gravação do Flight Recorder ativa; será despejada em '" + arquivoJfr + "' ao encerrar.");
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Não foi possível iniciar a gravação do Flight Recorder: " + e.getMessage());
+            }
+        }
+        String arquivoMetricas = System.getProperty(PROPRIEDADE_METRICAS);
+        if (arquivoMetricas != null) {
+            Path destino = Paths.get(arquivoMetricas);
+            long intervalo = Long.getLong(PROPRIEDADE_INTERVALO_METRICAS, INTERVALO_METRICAS_PADRAO);
+            if (intervalo > 0) {
+                ScheduledExecutorService exportacao = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                    Thread thread = new Thread(tarefa, "exportacao-metricas");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                exportacao.scheduleWithFixedDelay(() -> exportarMetricas(destino), intervalo, intervalo, TimeUnit.SECONDS);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> exportarMetricas(destino), "exportacao-metricas-final"));
+        }
+    }
+
+    /** Exporta as métricas, apenas avisando em caso de erro (uma falha não deve interromper as exportações seguintes). */
+    private static void exportarMetricas(Path destino) {
+        try {
+            Metricas.exportar(destino);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Não foi possível exportar as métricas para '" + destino + "': " + e.getMessage());
+        }
+    }
+
+    /** Tenta carregar o catálogo do retrato binário; qualquer problema faz a carga voltar para o arquivo de texto. */
+    private static Catalogo lerRetrato(Path arquivoTexto, Path retrato) {
+        try {
+            return RetratoBinario.carregar(arquivoTexto, retrato);
+        } catch (IOException e) {
+            System.err.println("Não foi possível ler o retrato binário " + retrato + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Grava o retrato binário para a próxima partida; uma falha aqui não impede o uso do catálogo já carregado. */
+    private static void gravarRetrato(Catalogo catalogo, BasicFileAttributes atributosTexto, Path retrato) {
+        try {
+            RetratoBinario.gravar(catalogo, atributosTexto, retrato);
+        } catch (IOException e) {
+            System.err.println("Não foi possível gravar o retrato binário " + retrato + ": " + e.getMessage());
+        }
+    }
+
     static Produto localizarProduto() {
         Produto produtoEncontrado = null;
     	cabecalho();
@@ -131,12 +216,7 @@ public class App {
             System.out.println("Código inválido inserido.");
             return null;
         }
-        try {
-            produtoEncontrado = produtosCadastrados.localizar(prod -> prod.hashCode() == idProduto);
-        } catch (IllegalStateException e) {
-             System.out.println("Erro interno: " + e.getMessage());
-             produtoEncontrado = null;
-        }
+        produtoEncontrado = produtosCadastrados.localizarPorId(idProduto);
         if (produtoEncontrado == null) {
             System.out.println("Produto com ID " + idProduto + " não encontrado.");
         }
@@ -156,14 +236,15 @@ public class App {
              System.out.println("Descrição não pode ser vazia para busca.");
              return null;
         }
-        try {
-            produtoEncontrado = produtosCadastrados.localizar(prod -> prod.descricao.equalsIgnoreCase(descricao));
-        } catch (IllegalStateException e) {
-             System.out.println("Erro interno: " + e.getMessage());
-             produtoEncontrado = null;
-        } catch (NullPointerException e) {
-             System.err.println("Erro: Produto inválido encontrado durante a busca.");
-             produtoEncontrado = null;
+        produtoEncontrado = produtosCadastrados.localizarPorDescricao(descricao);
+        if (produtoEncontrado == null) {
+            Lista<Produto> sugestoes = produtosCadastrados.comecandoCom(descricao, 10);
+            if (!sugestoes.vazia()) {
+                System.out.println("Produtos que começam com '" + descricao + "':");
+                for (Produto sugestao : sugestoes) {
+                    System.out.println("  " + sugestao.descricao);
+                }
+            }
         }
         return produtoEncontrado;
     }
@@ -182,13 +263,40 @@ public class App {
         cabecalho();
         System.out.println("\n--- PRODUTOS CADASTRADOS ---");
         if (produtosCadastrados != null && !produtosCadastrados.vazia()) {
-            System.out.println(produtosCadastrados.toString());
+            new RenderizadorCatalogo(System.out).renderizar(produtosCadastrados.getProdutos());
         } else {
             System.out.println("Nenhum produto cadastrado ou erro na leitura do arquivo.");
         }
         System.out.println("----------------------------");
     }
 
+    static void navegarEmOrdemAlfabetica() {
+        cabecalho();
+        System.out.println("\n--- PRODUTOS EM ORDEM ALFABÉTICA ---");
+        if (produtosCadastrados == null || produtosCadastrados.vazia()) {
+            System.out.println("Nenhum produto cadastrado ou erro na leitura do arquivo.");
+            return;
+        }
+        System.out.print("Começar a partir de qual descrição? (enter para o início): ");
+        String inicio = teclado.nextLine().trim();
+        IndiceAlfabetico.Percurso percurso = produtosCadastrados.emOrdemAlfabetica(inicio);
+        if (!percurso.hasNext()) {
+            System.out.println("Nenhum produto a partir de '" + inicio + "'.");
+        }
+        while (percurso.hasNext()) {
+            for (int i = 0; i < PRODUTOS_POR_PAGINA && percurso.hasNext(); i++) {
+                System.out.println("  " + percurso.next());
+            }
+            if (percurso.hasNext()) {
+                System.out.print("Enter para a próxima página, ou 0 para encerrar a navegação: ");
+                if (teclado.nextLine().trim().equals("0")) {
+                    break;
+                }
+            }
+        }
+        System.out.println("------------------------------------");
+    }
+
     public static Pedido iniciarPedido() {
     	Pedido novoPedido = new Pedido();
     	Produto produtoEncontrado;
@@ -198,7 +306,7 @@ public class App {
             System.out.println("Não há produtos cadastrados no sistema para iniciar um pedido.");
             return null;
         }
-    	listarTodosOsProdutos();
+    	navegarEmOrdemAlfabetica();
     	System.out.println("\n--- Iniciando Novo Pedido ---");
     	numProdutosAIncluir = lerOpcao("Quantos tipos de produtos diferentes deseja incluir neste pedido? (0 para cancelar):", Integer.class);
         if (numProdutosAIncluir <= 0) {
@@ -232,19 +340,120 @@ public class App {
     	return novoPedido;
     }
 
+    /**
+     * Modo em lote: carrega o catálogo e executa os comandos do arquivo indicado, sem o menu interativo.
+     * @param arquivoLote Caminho do arquivo de comandos.
+     * @return Código de saída do programa: 0 se todos os comandos foram executados, 1 caso contrário.
+     */
+    private static int executarLote(String arquivoLote) {
+        nomeArquivoDados = "produtos.txt";
+        produtosCadastrados = lerProdutos(nomeArquivoDados);
+        if (produtosCadastrados == null) {
+            System.err.println("ERRO CRÍTICO: Falha ao carregar a lista de produtos do arquivo '" + nomeArquivoDados + "'.");
+            return 1;
+        }
+        try {
+            return (ModoLote.executar(Paths.get(arquivoLote), produtosCadastrados, listaPedidos, System.out) == 0) ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("ERRO: não foi possível ler o arquivo de lote '" + arquivoLote + "': " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Modo servidor: carrega o catálogo e o diário e atende sessões de pedido simultâneas na porta indicada,
+     * até o processo ser encerrado (por exemplo, com Ctrl+C).
+     * @param textoPorta Porta local do servidor.
+     * @return Código de saída do programa: 1 se o servidor não pôde ser iniciado.
+     */
+    private static int executarServidor(String textoPorta) {
+        int porta;
+        try {
+            porta = Integer.parseInt(textoPorta.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("ERRO: porta inválida para o servidor: '" + textoPorta + "'");
+            return 1;
+        }
+        nomeArquivoDados = "produtos.txt";
+        produtosCadastrados = lerProdutos(nomeArquivoDados);
+        if (produtosCadastrados == null) {
+            System.err.println("ERRO CRÍTICO: Falha ao carregar a lista de produtos do arquivo '" + nomeArquivoDados + "'.");
+            return 1;
+        }
+        abrirDiario();
+        ServidorPedidos servidor;
+        try {
+            servidor = ServidorPedidos.iniciar(porta, produtosCadastrados, repositorioPedidos);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERRO: não foi possível abrir o servidor na porta " + porta + ": " + e.getMessage());
+            fecharDiario();
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                servidor.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o servidor de pedidos: " + e.getMessage());
+            }
+            fecharDiario();
+            System.out.println("Servidor encerrado: " + servidor.sessoesAtendidas() + " sessões atendidas, "
+                    + repositorioPedidos.tamanho() + " pedidos finalizados.");
+        }, "encerramento-servidor"));
+        System.out.println("Servidor de pedidos escutando em " + servidor.porta() + ". Pressione Ctrl+C para encerrar.");
+        try {
+            servidor.aguardar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    /** Abre o diário de pedidos, recuperando os pedidos finalizados em execuções anteriores. */
+    private static void abrirDiario() {
+        try {
+            diarioPedidos = DiarioPedidos.abrir(Paths.get(DIRETORIO_DIARIO), produtosCadastrados, listaPedidos);
+            repositorioPedidos = new RepositorioPedidos(listaPedidos, diarioPedidos);
+            if (diarioPedidos.pedidosReproduzidos() > 0) {
+                System.out.println(diarioPedidos.pedidosReproduzidos() + " pedidos finalizados recuperados do diário.");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Não foi possível abrir o diário de pedidos em '" + DIRETORIO_DIARIO
+                    + "'; os pedidos finalizados não serão gravados. Detalhe: " + e.getMessage());
+            diarioPedidos = null;
+        }
+    }
+
+    private static void fecharDiario() {
+        if (diarioPedidos != null) {
+            try {
+                diarioPedidos.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o diário de pedidos: " + e.getMessage());
+            }
+        }
+    }
+
     public static boolean finalizarPedido(Pedido pedido) {
         cabecalho();
         boolean finalizado = false;
         if (pedido == null) {
             System.out.println("Nenhum pedido ativo para finalizar.");
-        } else if (pedido.getProdutos() == null || pedido.getProdutos().vazia()) {
+        } else if (pedido.vazio()) {
             System.out.println("O pedido atual está vazio. Não pode ser finalizado.");
         } else {
-            listaPedidos.inserir(pedido);
-            System.out.println("Pedido finalizado com sucesso e adicionado à lista de pedidos concluídos.");
-            System.out.println("\nResumo do Pedido Finalizado:");
-            System.out.println(pedido.resumo());
-            finalizado = true;
+            try {
+                if (repositorioPedidos.finalizar(pedido)) {
+                    System.out.println("Pedido finalizado com sucesso e adicionado à lista de pedidos concluídos.");
+                } else {
+                    System.err.println("ATENÇÃO: o pedido foi adicionado à lista de pedidos concluídos, mas não pôde ser "
+                            + "gravado no diário e será perdido ao sair.");
+                }
+                System.out.println("\nResumo do Pedido Finalizado:");
+                System.out.println(pedido.resumo());
+                finalizado = true;
+            } catch (IllegalStateException e) {
+                System.err.println("ERRO: " + e.getMessage() + " O pedido continua em andamento.");
+            }
         }
         return finalizado;
     }
@@ -258,13 +467,14 @@ public class App {
         }
         System.out.println("--- Consulta de Repetições em Pedidos Finalizados ---");
         System.out.println("Pedidos disponíveis:");
-        for(int i = 0; i < tamanhoLista; i++) {
+        int i = 0;
+        for (Pedido p : listaPedidos) {
             try {
-                Pedido p = listaPedidos.elementoNaPosicao(i);
                 System.out.printf("  %d: %s\n", i + 1, p.resumo());
             } catch (Exception e) {
                  System.out.printf("  Erro ao obter resumo do pedido na posição %d\n", i + 1);
             }
+            i++;
         }
         System.out.println("-----------------------------------------------------");
         String mensagem = String.format("Digite a posição do pedido na lista (de 1 a %d) para verificar:", tamanhoLista);
@@ -281,8 +491,7 @@ public class App {
                  System.out.println("Descrição do produto não pode ser vazia. Operação cancelada.");
                  return;
              }
-            Produto produtoAContar = new ProdutoNaoPerecivel(descricao, 0.01);
-            int quantidade = qualPedido.repeticoes(produtoAContar);
+            int quantidade = qualPedido.repeticoes(descricao);
             System.out.printf("\nResultado: O produto '%s' aparece %d vez(es) no pedido %d.\n", descricao, quantidade, N);
         } catch (IllegalStateException | IndexOutOfBoundsException e) {
              System.err.println("Erro ao acessar o pedido selecionado: " + e.getMessage());
@@ -294,7 +503,31 @@ public class App {
         }
     }
 
+    public static void faturamentoDosPedidos() {
+        cabecalho();
+        if (listaPedidos.vazia()) {
+            System.out.println("Ainda não há pedidos finalizados.");
+            return;
+        }
+        double faturamento = listaPedidos.somarParalelo(Pedido::valorFinal);
+        int comMaisDeUmProduto = listaPedidos.contarRepeticoesParalelo(pedido -> pedido.getItens().tamanho() > 1);
+        System.out.println("--- Faturamento dos Pedidos Finalizados ---");
+        System.out.printf("Pedidos finalizados: %d (%d com mais de um produto diferente)\n", listaPedidos.tamanho(), comMaisDeUmProduto);
+        System.out.printf("Valor total: R$ %.2f\n", faturamento);
+    }
+
 	public static void main(String[] args) {
+        iniciarMonitoramento();
+        RelogioPrecos.iniciarVirada(); // Também nos modos em lote e servidor, que podem atravessar a meia-noite
+        if (args.length == 2 && args[0].equals("--lote")) {
+            System.exit(executarLote(args[1]));
+        }
+        if (args.length == 2 && args[0].equals("--servidor")) {
+            if (executarServidor(args[1]) != 0) {
+                System.exit(1);
+            }
+            return;
+        }
         try {
              teclado = new Scanner(System.in, Charset.forName("UTF-8"));
         } catch (Exception e) {
@@ -313,6 +546,7 @@ public class App {
         }
         System.out.println("Arquivo de produtos lido com sucesso.");
         System.out.println(produtosCadastrados.tamanho() + " produtos foram carregados para o catálogo.");
+        abrirDiario();
         pausa();
         Pedido pedidoAtual = null;
         int opcao = -1;
@@ -350,6 +584,12 @@ public class App {
                 case 6:
                     repeticoesDeProdutoNoPedido();
                     break;
+                case 7:
+                    faturamentoDosPedidos();
+                    break;
+                case 8:
+                    navegarEmOrdemAlfabetica();
+                    break;
                 case 0:
                     System.out.println("Saindo do sistema...");
                     break;
@@ -361,6 +601,7 @@ public class App {
                  pausa();
             }
         } while(opcao != 0);
+        fecharDiario();
         System.out.println("\nPrograma encerrado.");
         teclado.close();
     }
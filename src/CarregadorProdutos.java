@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Carrega o arquivo de produtos mapeando-o em memória e dividindo-o em trechos alinhados a quebras de linha,
+ * que são lidos em paralelo no pool fork-join comum. A criação dos produtos é feita em seguida, em ordem,
+ * para que os códigos continuem sendo atribuídos na ordem das linhas do arquivo.
+ */
+public class CarregadorProdutos {
+
+    /** Tamanho mínimo de um trecho, para que arquivos pequenos não sejam fragmentados à toa */
+    private static final long TAMANHO_MINIMO_TRECHO = 64 * 1024;
+
+    /** Tamanho máximo de um trecho, para que caiba em um único mapeamento */
+    private static final long TAMANHO_MAXIMO_TRECHO = 1L << 30;
+
+    /** Tamanho máximo da linha de cabeçalho com a quantidade de produtos */
+    private static final int TAMANHO_MAXIMO_CABECALHO = 64;
+
+    /** Menor linha de produto válida, com a quebra de linha: "1;a;1;1\n" */
+    private static final int TAMANHO_MINIMO_LINHA = 8;
+
+    private CarregadorProdutos() {
+    }
+
+    /**
+     * Lê o arquivo de produtos. A primeira linha contém a quantidade de produtos e é usada para dimensionar o catálogo,
+     * limitada ao que cabe no tamanho do arquivo: um cabeçalho exagerado não reserva memória além disso.
+     * Linhas inválidas são informadas na saída de erro e ignoradas.
+     * @param arquivo Caminho do arquivo de dados.
+     * @return Catálogo com os produtos válidos, na ordem do arquivo.
+     * @throws IOException em caso de erro ao abrir ou ler o arquivo.
+     */
+    public static Catalogo carregar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanhoArquivo = canal.size();
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_MAXIMO_CABECALHO);
+            canal.read(cabecalho, 0);
+            cabecalho.flip();
+
+            int fimCabecalho = 0;
+            while (fimCabecalho < cabecalho.limit() && cabecalho.get(fimCabecalho) != '\n') {
+                fimCabecalho++;
+            }
+            int quantidadeEsperada = lerQuantidade(cabecalho, fimCabecalho);
+            long inicioDados = Math.min(fimCabecalho + 1L, tamanhoArquivo);
+            if (fimCabecalho == cabecalho.limit() && tamanhoArquivo > cabecalho.limit()) {
+                inicioDados = proximaLinha(canal, cabecalho.limit(), tamanhoArquivo);
+            }
+            quantidadeEsperada = (int) Math.min(quantidadeEsperada, (tamanhoArquivo - inicioDados) / TAMANHO_MINIMO_LINHA);
+
+            Trecho[] trechos = dividir(canal, inicioDados, tamanhoArquivo, quantidadeEsperada);
+            ForkJoinPool.commonPool().invoke(new LeituraTrechos(canal, trechos, 0, trechos.length));
+
+            Catalogo catalogo = new Catalogo(quantidadeEsperada);
+            long primeiraLinha = 2; // a linha 1 é o cabeçalho
+            for (Trecho trecho : trechos) {
+                if (trecho.falha != null) {
+                    throw trecho.falha;
+                }
+                for (int i = 0; i < trecho.quantidade; i++) {
+                    long numeroLinha = primeiraLinha + trecho.linhas[i];
+                    if (trecho.erros[i] != null) {
+                        System.err.println("ERRO ao processar a linha " + numeroLinha + " do arquivo: " + trecho.erros[i]);
+                        continue;
+                    }
+                    try {
+                        catalogo.inserir(Produto.criar(trecho.tipos[i], trecho.descricoes[i],
+                                trecho.custos[i], trecho.margens[i], trecho.validades[i]));
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("ERRO ao processar a linha " + numeroLinha + " do arquivo. Detalhe: " + e.getMessage());
+                    }
+                }
+                primeiraLinha += trecho.linhasLidas;
+            }
+            return catalogo;
+        }
+    }
+
+    private static int lerQuantidade(ByteBuffer cabecalho, int fim) {
+        int quantidade = 0;
+        boolean algumDigito = false;
+        for (int i = 0; i < fim; i++) {
+            byte b = cabecalho.get(i);
+            if (b >= '0' && b <= '9' && quantidade < Integer.MAX_VALUE / 10) {
+                quantidade = quantidade * 10 + (b - '0');
+                algumDigito = true;
+            } else if (b != ' ' && b != '\t' && b != '\r') {
+                algumDigito = false;
+                break;
+            }
+        }
+        if (!algumDigito) {
+            System.err.println("Cabeçalho do arquivo sem a quantidade de produtos; usando tamanho padrão.");
+            return 0;
+        }
+        return quantidade;
+    }
+
+    /** Divide a região de dados em trechos, cada um começando logo após uma quebra de linha. */
+    private static Trecho[] dividir(FileChannel canal, long inicio, long fim, int quantidadeEsperada) throws IOException {
+        long tamanhoDados = fim - inicio;
+        long quantidadeTrechos = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L,
+                tamanhoDados / TAMANHO_MINIMO_TRECHO));
+        long tamanhoTrecho = Math.min(TAMANHO_MAXIMO_TRECHO, Math.max(1, tamanhoDados / quantidadeTrechos));
+        Lista<Trecho> trechos = new Lista<>();
+
+        long posicao = inicio;
+        while (posicao < fim) {
+            long limite = proximaLinha(canal, Math.min(posicao + tamanhoTrecho, fim), fim);
+            int linhasEstimadas = (int) Math.max(16, quantidadeEsperada * (limite - posicao) / tamanhoDados + 16);
+            trechos.inserir(new Trecho(posicao, limite, linhasEstimadas));
+            posicao = limite;
+        }
+        return trechos.stream().toArray(Trecho[]::new);
+    }
+
+    /** Retorna a posição logo após a primeira quebra de linha a partir de 'posicao', ou 'fim' se não houver. */
+    private static long proximaLinha(FileChannel canal, long posicao, long fim) throws IOException {
+        ByteBuffer janela = ByteBuffer.allocate(4096);
+        while (posicao < fim) {
+            janela.clear();
+            int lidos = canal.read(janela, posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (janela.get(i) == '\n') {
+                    return Math.min(posicao + i + 1, fim);
+                }
+            }
+            posicao += lidos;
+        }
+        return fim;
+    }
+
+    /**
+     * Região do arquivo lida por uma tarefa. Os campos de cada linha são guardados em colunas, na ordem do arquivo;
+     * uma linha inválida tem apenas a mensagem de erro preenchida.
+     */
+    private static final class Trecho implements ReceptorDeErros {
+
+        private final long inicio;
+        private final long fim;
+        private int[] linhas;
+        private byte[] tipos;
+        private String[] descricoes;
+        private double[] custos;
+        private double[] margens;
+        private long[] validades;
+        private String[] erros;
+        private int quantidade;
+        private int linhasLidas;
+        private IOException falha;
+
+        private Trecho(long inicio, long fim, int linhasEstimadas) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.linhas = new int[linhasEstimadas];
+            this.tipos = new byte[linhasEstimadas];
+            this.descricoes = new String[linhasEstimadas];
+            this.custos = new double[linhasEstimadas];
+            this.margens = new double[linhasEstimadas];
+            this.validades = new long[linhasEstimadas];
+            this.erros = new String[linhasEstimadas];
+        }
+
+        private void reservar() {
+            if (quantidade == linhas.length) {
+                int capacidade = quantidade * 2;
+                linhas = Arrays.copyOf(linhas, capacidade);
+                tipos = Arrays.copyOf(tipos, capacidade);
+                descricoes = Arrays.copyOf(descricoes, capacidade);
+                custos = Arrays.copyOf(custos, capacidade);
+                margens = Arrays.copyOf(margens, capacidade);
+                validades = Arrays.copyOf(validades, capacidade);
+                erros = Arrays.copyOf(erros, capacidade);
+            }
+        }
+
+        /** Recebe o erro de uma linha; o número recebido é o índice da linha dentro do trecho. */
+        @Override
+        public void registrar(long numeroLinha, String linha, String motivo) {
+            reservar();
+            linhas[quantidade] = (int) numeroLinha;
+            erros[quantidade] = "'" + linha + "'. Detalhe: " + motivo;
+            quantidade++;
+        }
+
+        private void ler(FileChannel canal) throws IOException {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fim - inicio);
+            DecodificadorProduto decodificador = new DecodificadorProduto(this);
+            int posicao = 0;
+            int limite = mapa.limit();
+
+            while (posicao < limite) {
+                int fimLinha = posicao;
+                boolean emBranco = true;
+                while (fimLinha < limite && mapa.get(fimLinha) != '\n') {
+                    emBranco &= (mapa.get(fimLinha) & 0xFF) <= ' ';
+                    fimLinha++;
+                }
+                if (!emBranco && decodificador.decodificar(mapa, posicao, fimLinha, linhasLidas)) {
+                    reservar();
+                    linhas[quantidade] = linhasLidas;
+                    tipos[quantidade] = (byte) decodificador.tipo();
+                    descricoes[quantidade] = decodificador.descricao();
+                    custos[quantidade] = decodificador.precoCusto();
+                    margens[quantidade] = decodificador.margemLucro();
+                    validades[quantidade] = decodificador.diaValidade();
+                    quantidade++;
+                }
+                linhasLidas++;
+                posicao = fimLinha + 1;
+            }
+        }
+    }
+
+    /** Tarefa fork-join que divide o intervalo de trechos ao meio até chegar a um único trecho. */
+    private static final class LeituraTrechos extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel canal;
+        private final transient Trecho[] trechos;
+        private final int de;
+        private final int ate;
+
+        private LeituraTrechos(FileChannel canal, Trecho[] trechos, int de, int ate) {
+            this.canal = canal;
+            this.trechos = trechos;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de > 1) {
+                int meio = (de + ate) >>> 1;
+                invokeAll(new LeituraTrechos(canal, trechos, de, meio), new LeituraTrechos(canal, trechos, meio, ate));
+            } else if (ate > de) {
+                try {
+                    trechos[de].ler(canal);
+                } catch (IOException e) {
+                    trechos[de].falha = e;
+                }
+            }
+        }
+    }
+}
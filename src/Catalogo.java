@@ -0,0 +1,181 @@
+import java.util.Iterator;
+
+/**
+ * Catálogo de produtos: mantém a lista de produtos, na ordem de cadastro, e os índices
+ * usados nas buscas. Toda inclusão passa por aqui, de modo que lista e índices ficam sempre em sincronia.
+ */
+public class Catalogo implements Iterable<Produto> {
+
+    private static final Metricas.Histograma BUSCA_POR_ID = Metricas.histograma("catalogo.buscaPorId", "ns");
+    private static final Metricas.Histograma BUSCA_POR_DESCRICAO = Metricas.histograma("catalogo.buscaPorDescricao", "ns");
+    private static final Metricas.Contador BUSCAS_SEM_RESULTADO = Metricas.contador("catalogo.buscasSemResultado");
+
+    private final Lista<Produto> produtos;
+    private final TabelaHashInt<Produto> indicePorId;
+    private final IndiceDescricao indicePorDescricao;
+    private final IndiceAlfabetico indiceAlfabetico;
+
+    /** Cria um catálogo vazio */
+    public Catalogo() {
+        this(16);
+    }
+
+    /**
+     * Cria um catálogo vazio com índices dimensionados para a quantidade prevista de produtos.
+     * @param capacidadeEsperada Quantidade de produtos prevista.
+     */
+    public Catalogo(int capacidadeEsperada) {
+        produtos = new Lista<>();
+        indicePorId = new TabelaHashInt<>(capacidadeEsperada);
+        indicePorDescricao = new IndiceDescricao(produtos, capacidadeEsperada);
+        indiceAlfabetico = new IndiceAlfabetico();
+    }
+
+    /**
+     * Inclui um produto no final do catálogo e nos índices.
+     * @param produto Produto a ser incluído (não nulo).
+     * @throws IllegalArgumentException se o produto for nulo ou seu código já estiver cadastrado.
+     */
+    public void inserir(Produto produto) {
+        if (produto == null)
+            throw new IllegalArgumentException("Não é possível cadastrar um produto nulo!");
+        if (indicePorId.contem(produto.hashCode()))
+            throw new IllegalArgumentException("Já existe um produto cadastrado com o código " + produto.hashCode() + "!");
+
+        produtos.inserir(produto);
+        indicePorId.inserir(produto.hashCode(), produto);
+        indicePorDescricao.inserir(produto);
+        indiceAlfabetico.inserir(produto);
+    }
+
+    /**
+     * Inclui em um catálogo vazio produtos cuja ordem alfabética já é conhecida, como os lidos de um retrato binário.
+     * O índice alfabético é montado por anexação, sem comparar descrições entre si.
+     * @param novos Produtos na ordem de cadastro.
+     * @param ordemAlfabetica Posições (em 'novos') na ordem de Produto.compareTo, desempatada pelo código.
+     * @throws IllegalArgumentException se algum produto for inválido para inserir ou se a ordem não estiver correta.
+     * @throws IllegalStateException se o catálogo não estiver vazio.
+     */
+    void inserirEmOrdem(Produto[] novos, int[] ordemAlfabetica) {
+        if (!vazia())
+            throw new IllegalStateException("A inclusão em ordem só pode ser feita em um catálogo vazio!");
+        if (ordemAlfabetica.length != novos.length)
+            throw new IllegalArgumentException("A ordem alfabética não corresponde aos produtos!");
+
+        for (Produto produto : novos) {
+            if (produto == null)
+                throw new IllegalArgumentException("Não é possível cadastrar um produto nulo!");
+            if (indicePorId.contem(produto.hashCode()))
+                throw new IllegalArgumentException("Já existe um produto cadastrado com o código " + produto.hashCode() + "!");
+
+            produtos.inserir(produto);
+            indicePorId.inserir(produto.hashCode(), produto);
+            indicePorDescricao.inserir(produto);
+        }
+        for (int posicao : ordemAlfabetica) {
+            indiceAlfabetico.anexar(novos[posicao]);
+        }
+    }
+
+    /**
+     * Localiza um produto pelo seu código, em tempo constante.
+     * @param idProduto Código do produto.
+     * @return O produto com o código indicado ou null, caso não exista.
+     */
+    public Produto localizarPorId(int idProduto) {
+        EventosDesempenho.BuscaProduto evento = new EventosDesempenho.BuscaProduto();
+        long inicio = EventosDesempenho.iniciar(evento);
+        Produto produto = indicePorId.buscar(idProduto);
+        if (concluirBusca(evento, BUSCA_POR_ID, inicio, produto)) {
+            evento.gravar("codigo", Integer.toString(idProduto), produto != null);
+        }
+        return produto;
+    }
+
+    /**
+     * Localiza um produto pela descrição exata, sem distinção entre maiúsculas e minúsculas.
+     * @param descricao Descrição procurada.
+     * @return O primeiro produto cadastrado com essa descrição ou null, caso não exista.
+     */
+    public Produto localizarPorDescricao(String descricao) {
+        EventosDesempenho.BuscaProduto evento = new EventosDesempenho.BuscaProduto();
+        long inicio = EventosDesempenho.iniciar(evento);
+        Produto produto = indicePorDescricao.localizar(descricao);
+        if (concluirBusca(evento, BUSCA_POR_DESCRICAO, inicio, produto)) {
+            evento.gravar("descricao", descricao, produto != null);
+        }
+        return produto;
+    }
+
+    /** Conclui a medição de uma busca, contando as buscas sem resultado; retorna true se o evento deve ser gravado. */
+    private static boolean concluirBusca(EventosDesempenho.BuscaProduto evento, Metricas.Histograma histograma, long inicio, Produto produto) {
+        if (produto == null) {
+            BUSCAS_SEM_RESULTADO.incrementar();
+        }
+        return EventosDesempenho.concluir(evento, histograma, inicio);
+    }
+
+    /**
+     * Lista, em ordem alfabética, os produtos cuja descrição começa com o prefixo indicado (autocompletar).
+     * @param prefixo Início da descrição, sem distinção entre maiúsculas e minúsculas.
+     * @param limite Quantidade máxima de produtos a retornar.
+     * @return Lista com até 'limite' produtos.
+     */
+    public Lista<Produto> comecandoCom(String prefixo, int limite) {
+        return indicePorDescricao.comecandoCom(prefixo, limite);
+    }
+
+    /**
+     * Percorre os produtos em ordem alfabética (Produto.compareTo) a partir da descrição indicada, inclusive.
+     * @param descricao Descrição de referência; vazia para começar do primeiro produto.
+     * @return Percurso que pode ser guardado e retomado para paginar a listagem.
+     */
+    public IndiceAlfabetico.Percurso emOrdemAlfabetica(String descricao) {
+        return indiceAlfabetico.aPartirDe(descricao);
+    }
+
+    /**
+     * Percorre, em ordem alfabética, os produtos cuja descrição está na faixa [de, ate).
+     * @param de Início da faixa (inclusive).
+     * @param ate Fim da faixa (exclusive).
+     * @return Percurso sobre os produtos da faixa.
+     * @throws IllegalArgumentException se o início da faixa vier depois do fim.
+     */
+    public IndiceAlfabetico.Percurso entre(String de, String ate) {
+        return indiceAlfabetico.entre(de, ate);
+    }
+
+    /**
+     * Retorna a lista de produtos do catálogo, na ordem de cadastro. Não deve ser alterada diretamente.
+     * @return A Lista<Produto> do catálogo.
+     */
+    public Lista<Produto> getProdutos() {
+        return produtos;
+    }
+
+    /**
+     * Retorna a quantidade de produtos cadastrados.
+     * @return Inteiro não negativo com a quantidade de produtos.
+     */
+    public int tamanho() {
+        return produtos.tamanho();
+    }
+
+    /**
+     * Indica se o catálogo está vazio.
+     * @return TRUE/FALSE conforme o catálogo esteja vazio ou não.
+     */
+    public boolean vazia() {
+        return produtos.vazia();
+    }
+
+    @Override
+    public Iterator<Produto> iterator() {
+        return produtos.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return produtos.toString();
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Representação do catálogo em colunas de tipos primitivos (um vetor por atributo), para cálculos em lote
+ * sobre todos os produtos: os laços percorrem vetores contíguos em vez de seguir células e objetos pela memória.
+ * As descrições são codificadas por um dicionário de descrições distintas.
+ * É um retrato do catálogo no momento da criação; inclusões posteriores no catálogo não aparecem aqui.
+ */
+public class CatalogoColunar {
+
+    /** Validade dos produtos não perecíveis, que nunca entram no prazo de desconto */
+    public static final long VALIDADE_INDETERMINADA = Long.MAX_VALUE;
+
+    private final int tamanho;
+    private final int[] ids;
+    private final double[] custos;
+    private final double[] margens;
+    private final long[] validades;
+    private final int[] codigosDescricao;
+    private final String[] dicionario;
+
+    /**
+     * Monta as colunas a partir dos produtos, na ordem em que são percorridos.
+     * @param catalogo Catálogo de produtos.
+     */
+    public CatalogoColunar(Catalogo catalogo) {
+        HashMap<String, Integer> codigos = new HashMap<>();
+        String[] descricoes = new String[16];
+        int i = 0;
+
+        tamanho = catalogo.tamanho();
+        ids = new int[tamanho];
+        custos = new double[tamanho];
+        margens = new double[tamanho];
+        validades = new long[tamanho];
+        codigosDescricao = new int[tamanho];
+
+        for (Produto produto : catalogo) {
+            ids[i] = produto.idProduto;
+            custos[i] = produto.precoCusto;
+            margens[i] = produto.margemLucro;
+            validades[i] = (produto instanceof ProdutoPerecivel)
+                    ? ((ProdutoPerecivel) produto).getDataDeValidade().toEpochDay()
+                    : VALIDADE_INDETERMINADA;
+
+            Integer codigo = codigos.get(produto.descricao);
+            if (codigo == null) {
+                codigo = codigos.size();
+                codigos.put(produto.descricao, codigo);
+                if (codigo == descricoes.length) {
+                    descricoes = Arrays.copyOf(descricoes, codigo * 2);
+                }
+                descricoes[codigo] = produto.descricao;
+            }
+            codigosDescricao[i] = codigo;
+            i++;
+        }
+        dicionario = Arrays.copyOf(descricoes, codigos.size());
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public int id(int posicao) {
+        return ids[posicao];
+    }
+
+    public double precoCusto(int posicao) {
+        return custos[posicao];
+    }
+
+    public double margemLucro(int posicao) {
+        return margens[posicao];
+    }
+
+    /** @return Validade em dias desde 01/01/1970, ou VALIDADE_INDETERMINADA para não perecíveis. */
+    public long validade(int posicao) {
+        return validades[posicao];
+    }
+
+    public String descricao(int posicao) {
+        return dicionario[codigosDescricao[posicao]];
+    }
+
+    /** @return Código da descrição do produto no dicionário de descrições distintas. */
+    int codigoDescricao(int posicao) {
+        return codigosDescricao[posicao];
+    }
+
+    /** @return Quantidade de descrições distintas no dicionário. */
+    int quantidadeDescricoes() {
+        return dicionario.length;
+    }
+
+    /** @return Descrição com o código indicado no dicionário. */
+    String descricaoDoDicionario(int codigo) {
+        return dicionario[codigo];
+    }
+
+    /**
+     * Calcula o valor de venda de todos os produtos no dia indicado, com a mesma regra de Produto.valorDeVenda.
+     * @param dia Dia da avaliação, em dias desde 01/01/1970.
+     * @param destino Vetor com pelo menos tamanho() posições que recebe os valores, na ordem do catálogo.
+     */
+    public void valoresDeVenda(long dia, double[] destino) {
+        long limiteValidade = dia + ProdutoPerecivel.PRAZO_DESCONTO;
+        for (int i = 0; i < tamanho; i++) {
+            double valor = custos[i] * (1 + margens[i]);
+            destino[i] = (validades[i] <= limiteValidade) ? valor * (1 - ProdutoPerecivel.DESCONTO) : valor;
+        }
+    }
+
+    /**
+     * Soma o valor de venda de todos os produtos no dia indicado.
+     * @param dia Dia da avaliação, em dias desde 01/01/1970.
+     * @return O valor total do catálogo.
+     */
+    public double valorTotal(long dia) {
+        long limiteValidade = dia + ProdutoPerecivel.PRAZO_DESCONTO;
+        double soma = 0.0;
+        for (int i = 0; i < tamanho; i++) {
+            double valor = custos[i] * (1 + margens[i]);
+            soma += (validades[i] <= limiteValidade) ? valor * (1 - ProdutoPerecivel.DESCONTO) : valor;
+        }
+        return soma;
+    }
+
+    /**
+     * Conta os produtos que estão no prazo de desconto no dia indicado.
+     * @param dia Dia da avaliação, em dias desde 01/01/1970.
+     * @return Quantidade de produtos vendidos com desconto nesse dia.
+     */
+    public int contarComDesconto(long dia) {
+        long limiteValidade = dia + ProdutoPerecivel.PRAZO_DESCONTO;
+        int contador = 0;
+        for (int i = 0; i < tamanho; i++) {
+            contador += (validades[i] <= limiteValidade) ? 1 : 0;
+        }
+        return contador;
+    }
+
+    /**
+     * Retorna os códigos dos produtos cujo valor de venda, no dia indicado, está na faixa [minimo, maximo].
+     * @param minimo Menor valor de venda aceito.
+     * @param maximo Maior valor de venda aceito.
+     * @param dia Dia da avaliação, em dias desde 01/01/1970.
+     * @return Vetor com os códigos encontrados, na ordem do catálogo.
+     */
+    public int[] filtrarPorFaixaDePreco(double minimo, double maximo, long dia) {
+        long limiteValidade = dia + ProdutoPerecivel.PRAZO_DESCONTO;
+        int[] encontrados = new int[tamanho];
+        int quantidade = 0;
+        for (int i = 0; i < tamanho; i++) {
+            double valor = custos[i] * (1 + margens[i]);
+            if (validades[i] <= limiteValidade) {
+                valor = valor * (1 - ProdutoPerecivel.DESCONTO);
+            }
+            if (valor >= minimo && valor <= maximo) {
+                encontrados[quantidade++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(encontrados, quantidade);
+    }
+}
@@ -1,6 +1,18 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 public class Celula<T> {
 
+	private static final VarHandle PROXIMO;
+
+	static {
+		try {
+			PROXIMO = MethodHandles.lookup().findVarHandle(Celula.class, "proximo", Celula.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	private final T item;
 	private Celula<T> proximo;
 
@@ -31,4 +43,18 @@ public class Celula<T> {
 		this.proximo = proximo;
 	}
 
+	/** Lê o próximo com semântica volátil, para uso por estruturas concorrentes. */
+	@SuppressWarnings("unchecked")
+	Celula<T> getProximoVolatil() {
+		return (Celula<T>) PROXIMO.getVolatile(this);
+	}
+
+	/**
+	 * Troca atomicamente o próximo, se ele ainda for o esperado.
+	 * @return TRUE se a troca foi feita.
+	 */
+	boolean trocarProximo(Celula<T> esperado, Celula<T> novo) {
+		return PROXIMO.compareAndSet(this, esperado, novo);
+	}
+
 }
@@ -0,0 +1,305 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodifica linhas no formato tipo;descricao;custo;margem[;validade] diretamente do texto ou dos bytes do arquivo,
+ * sem dividir a linha em substrings: números com vírgula (ou ponto) decimal e datas dd/MM/yyyy são convertidos
+ * a partir dos caracteres. A única alocação por linha válida é a String da descrição.
+ * Linhas inválidas são informadas a um ReceptorDeErros, sem lançar exceções.
+ * Cada instância guarda os campos da última linha decodificada e não deve ser compartilhada entre threads.
+ */
+public class DecodificadorProduto {
+
+    /** Tipo de produto não perecível */
+    public static final int NAO_PERECIVEL = 1;
+
+    /** Tipo de produto perecível */
+    public static final int PERECIVEL = 2;
+
+    /** Valor de diaValidade() para produtos não perecíveis */
+    public static final long SEM_VALIDADE = Long.MIN_VALUE;
+
+    private static final int MAXIMO_CAMPOS = 5;
+    private static final int MAXIMO_DIGITOS = 18;
+    /** Maior quantidade de dígitos cuja mantissa é sempre exata em double (10^15 - 1 < 2^53) */
+    private static final int DIGITOS_EXATOS = 15;
+    private static final double[] POTENCIAS_DE_10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private final ReceptorDeErros receptor;
+    private final int[] inicioCampo = new int[MAXIMO_CAMPOS];
+    private final int[] fimCampo = new int[MAXIMO_CAMPOS];
+    private byte[] bytesDescricao = new byte[64];
+
+    private CharSequence texto;
+    private ByteBuffer bytes;
+    private int inicioLinha;
+    private int fimLinha;
+
+    private int tipo;
+    private String descricao;
+    private double precoCusto;
+    private double margemLucro;
+    private long diaValidade;
+
+    /**
+     * Cria um decodificador que informa os erros ao receptor indicado.
+     * @param receptor Receptor dos erros de leitura.
+     */
+    public DecodificadorProduto(ReceptorDeErros receptor) {
+        this.receptor = receptor;
+    }
+
+    /**
+     * Decodifica uma linha de texto.
+     * @param linha Linha no formato tipo;descricao;custo;margem[;validade].
+     * @param numeroLinha Número da linha, repassado ao receptor de erros.
+     * @return TRUE se a linha é válida e seus campos estão disponíveis; FALSE se o erro foi informado ao receptor.
+     */
+    public boolean decodificar(CharSequence linha, long numeroLinha) {
+        this.texto = linha;
+        this.bytes = null;
+        this.inicioLinha = 0;
+        this.fimLinha = linha.length();
+        return decodificar(numeroLinha);
+    }
+
+    /**
+     * Decodifica uma linha em UTF-8 contida em um buffer de bytes, sem alterar a posição do buffer.
+     * @param buffer Buffer com o conteúdo do arquivo.
+     * @param inicio Posição do primeiro byte da linha.
+     * @param fim Posição logo após o último byte da linha (sem a quebra de linha).
+     * @param numeroLinha Número da linha, repassado ao receptor de erros.
+     * @return TRUE se a linha é válida e seus campos estão disponíveis; FALSE se o erro foi informado ao receptor.
+     */
+    public boolean decodificar(ByteBuffer buffer, int inicio, int fim, long numeroLinha) {
+        this.texto = null;
+        this.bytes = buffer;
+        this.inicioLinha = inicio;
+        this.fimLinha = fim;
+        return decodificar(numeroLinha);
+    }
+
+    /** @return Tipo do produto lido: 1 (não perecível) ou 2 (perecível). */
+    public int tipo() {
+        return tipo;
+    }
+
+    /** @return Descrição do produto lido, sem espaços nas pontas. */
+    public String descricao() {
+        return descricao;
+    }
+
+    /** @return Preço de custo do produto lido. */
+    public double precoCusto() {
+        return precoCusto;
+    }
+
+    /** @return Margem de lucro do produto lido. */
+    public double margemLucro() {
+        return margemLucro;
+    }
+
+    /** @return Data de validade do produto lido, em dias desde 01/01/1970, ou SEM_VALIDADE. */
+    public long diaValidade() {
+        return diaValidade;
+    }
+
+    private char caractere(int i) {
+        return (texto != null) ? texto.charAt(i) : (char) (bytes.get(i) & 0xFF);
+    }
+
+    private boolean decodificar(long numeroLinha) {
+        int campos = 0;
+        int inicio = inicioLinha;
+        for (int i = inicioLinha; i < fimLinha; i++) {
+            if (caractere(i) == ';') {
+                if (campos == MAXIMO_CAMPOS - 1) {
+                    return erro(numeroLinha, "Formato inválido da linha");
+                }
+                inicioCampo[campos] = inicio;
+                fimCampo[campos] = i;
+                campos++;
+                inicio = i + 1;
+            }
+        }
+        inicioCampo[campos] = inicio;
+        fimCampo[campos] = fimLinha;
+        campos++;
+        if (campos < 4) {
+            return erro(numeroLinha, "Formato inválido da linha");
+        }
+        for (int c = 0; c < campos; c++) {
+            aparar(c);
+        }
+
+        if (fimCampo[0] - inicioCampo[0] == 1 && caractere(inicioCampo[0]) == '1') {
+            tipo = DecodificadorProduto.NAO_PERECIVEL;
+            if (campos != 4) return erro(numeroLinha, "Formato inválido (esperado 4 campos para tipo 1)");
+        } else if (fimCampo[0] - inicioCampo[0] == 1 && caractere(inicioCampo[0]) == '2') {
+            tipo = DecodificadorProduto.PERECIVEL;
+            if (campos != 5) return erro(numeroLinha, "Formato inválido (esperado 5 campos para tipo 2)");
+        } else {
+            return erro(numeroLinha, "Tipo de produto inválido");
+        }
+
+        precoCusto = lerNumero(2);
+        margemLucro = lerNumero(3);
+        if (Double.isNaN(precoCusto) || Double.isNaN(margemLucro)) {
+            return erro(numeroLinha, "Erro ao converter número");
+        }
+        if (tipo == DecodificadorProduto.PERECIVEL) {
+            diaValidade = lerData(4);
+            if (diaValidade == SEM_VALIDADE) {
+                return erro(numeroLinha, "Erro ao converter data (use dd/MM/yyyy)");
+            }
+        } else {
+            diaValidade = SEM_VALIDADE;
+        }
+        descricao = lerTexto(1);
+        return true;
+    }
+
+    private void aparar(int campo) {
+        while (inicioCampo[campo] < fimCampo[campo] && caractere(inicioCampo[campo]) <= ' ') {
+            inicioCampo[campo]++;
+        }
+        while (fimCampo[campo] > inicioCampo[campo] && caractere(fimCampo[campo] - 1) <= ' ') {
+            fimCampo[campo]--;
+        }
+    }
+
+    /** Converte um número com vírgula ou ponto decimal; retorna NaN se o campo não for um número. */
+    private double lerNumero(int campo) {
+        int i = inicioCampo[campo];
+        int fim = fimCampo[campo];
+        boolean negativo = false;
+        long mantissa = 0;
+        int digitos = 0;
+        int casasDecimais = -1;
+
+        if (i < fim && (caractere(i) == '-' || caractere(i) == '+')) {
+            negativo = caractere(i) == '-';
+            i++;
+        }
+        for (; i < fim; i++) {
+            char c = caractere(i);
+            if (c >= '0' && c <= '9') {
+                if (digitos == MAXIMO_DIGITOS) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digitos++;
+                if (casasDecimais >= 0) {
+                    casasDecimais++;
+                }
+            } else if ((c == ',' || c == '.') && casasDecimais < 0) {
+                casasDecimais = 0;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digitos == 0) {
+            return Double.NaN;
+        }
+        int casas = Math.max(casasDecimais, 0);
+        double valor;
+        if (digitos <= DIGITOS_EXATOS) {
+            // Até 15 dígitos a mantissa é exata em double, assim como 10^casas: a divisão é corretamente arredondada
+            valor = mantissa / POTENCIAS_DE_10[casas];
+        } else {
+            // Com 16 a 18 dígitos a mantissa pode passar de 2^53 e seria arredondada antes da divisão
+            valor = Double.parseDouble(mantissa + "E-" + casas);
+        }
+        return negativo ? -valor : valor;
+    }
+
+    /** Converte uma data dd/MM/yyyy em dias desde 01/01/1970; retorna SEM_VALIDADE se a data for inválida. */
+    private long lerData(int campo) {
+        int i = inicioCampo[campo];
+        if (fimCampo[campo] - i != 10 || caractere(i + 2) != '/' || caractere(i + 5) != '/') {
+            return SEM_VALIDADE;
+        }
+        int dia = lerDigitos(i, 2);
+        int mes = lerDigitos(i + 3, 2);
+        int ano = lerDigitos(i + 6, 4);
+        if (dia < 1 || mes < 1 || mes > 12 || ano < 1 || dia > diasNoMes(mes, ano)) {
+            return SEM_VALIDADE;
+        }
+        return diaDesdeEpoca(ano, mes, dia);
+    }
+
+    private int lerDigitos(int inicio, int quantidade) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            char c = caractere(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    private static boolean bissexto(long ano) {
+        return (ano % 4 == 0) && (ano % 100 != 0 || ano % 400 == 0);
+    }
+
+    private static int diasNoMes(int mes, int ano) {
+        switch (mes) {
+            case 2:
+                return bissexto(ano) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /** Mesmo cálculo de LocalDate.toEpochDay, sem criar o objeto LocalDate. */
+    private static long diaDesdeEpoca(long ano, int mes, int dia) {
+        long total = 365 * ano;
+        total += (ano + 3) / 4 - (ano + 99) / 100 + (ano + 399) / 400;
+        total += (367 * mes - 362) / 12;
+        total += dia - 1;
+        if (mes > 2) {
+            total--;
+            if (!bissexto(ano)) {
+                total--;
+            }
+        }
+        return total - 719528; // dias de 0000-01-01 até 1970-01-01
+    }
+
+    private String lerTexto(int campo) {
+        int inicio = inicioCampo[campo];
+        int tamanho = fimCampo[campo] - inicio;
+        if (texto != null) {
+            return texto.subSequence(inicio, inicio + tamanho).toString();
+        }
+        if (tamanho > bytesDescricao.length) {
+            bytesDescricao = new byte[Math.max(tamanho, bytesDescricao.length * 2)];
+        }
+        bytes.get(inicio, bytesDescricao, 0, tamanho);
+        return new String(bytesDescricao, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    private String textoDaLinha() {
+        if (texto != null) {
+            return texto.subSequence(inicioLinha, fimLinha).toString();
+        }
+        byte[] linha = new byte[fimLinha - inicioLinha];
+        bytes.get(inicioLinha, linha, 0, linha.length);
+        return new String(linha, StandardCharsets.UTF_8);
+    }
+
+    private boolean erro(long numeroLinha, String motivo) {
+        receptor.registrar(numeroLinha, textoDaLinha(), motivo);
+        return false;
+    }
+}
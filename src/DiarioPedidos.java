@@ -0,0 +1,524 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (write-ahead log) dos pedidos finalizados: cada pedido é gravado como um registro binário antes de
+ * entrar na lista de pedidos, e o diário é reproduzido na partida seguinte para reconstruir essa lista.
+ *
+ * Os registros são gravados por uma única thread, em lotes: ela espera até o prazo de latência configurado
+ * por outros registros que cheguem depois do primeiro e faz uma única sincronização com o disco (fsync) para
+ * todo o lote. Quem registra um pedido recebe uma confirmação que só é concluída depois dessa sincronização.
+ *
+ * O diário é um diretório de segmentos "segmento-NNNNNN.diario". Cada segmento começa com um cabeçalho de 16 bytes
+ * (assinatura, versão e número do segmento) e é seguido de registros no formato [tamanho][CRC32][conteúdo].
+ * O conteúdo é: dia do pedido (long, dias desde 01/01/1970), quantidade de itens (int) e, para cada item,
+ * código do produto (int), quantidade (int), subtotal (double) e descrição (UTF).
+ * Quando um segmento passa do tamanho máximo, o próximo registro abre um segmento novo.
+ */
+public class DiarioPedidos implements AutoCloseable {
+
+    /** "PEDD" em ASCII */
+    private static final int ASSINATURA_SEGMENTO = 0x50454444;
+    static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO_SEGMENTO = 16;
+    private static final int TAMANHO_CABECALHO_REGISTRO = 8;
+    private static final int TAMANHO_MAXIMO_REGISTRO = 16 * 1024 * 1024;
+
+    /** Prazo padrão, em microssegundos, que o primeiro registro de um lote espera por outros antes do fsync */
+    public static final long PRAZO_PADRAO_MICROS = 1_000;
+
+    /** Tamanho padrão a partir do qual um novo segmento é aberto */
+    public static final long TAMANHO_SEGMENTO_PADRAO = 64L * 1024 * 1024;
+
+    private static final int CAPACIDADE_FILA = 4096;
+    private static final int REGISTROS_POR_LOTE = 1024;
+
+    private final Path diretorio;
+    private final long prazoNanos;
+    private final long tamanhoMaximoSegmento;
+    private final FilaBloqueante<Registro> pendentes = new FilaBloqueante<>(CAPACIDADE_FILA);
+    private final Thread gravador;
+    private final int pedidosReproduzidos;
+
+    // Usados apenas pela thread gravadora depois da abertura
+    private FileChannel segmento;
+    private long numeroSegmento;
+    private long tamanhoSegmento;
+    private IOException falha; // Gravação incompleta que não pôde ser descartada: o diário não aceita mais registros
+
+    /** Leitura para enfileirar registros, escrita para fechar: nenhum registro entra na fila depois da marca de fim */
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private volatile boolean fechado;
+
+    private DiarioPedidos(Path diretorio, long prazoMicros, long tamanhoMaximoSegmento, int pedidosReproduzidos,
+            long numeroSegmento, FileChannel segmento) throws IOException {
+        this.diretorio = diretorio;
+        this.prazoNanos = TimeUnit.MICROSECONDS.toNanos(prazoMicros);
+        this.tamanhoMaximoSegmento = tamanhoMaximoSegmento;
+        this.pedidosReproduzidos = pedidosReproduzidos;
+        this.numeroSegmento = numeroSegmento;
+        this.segmento = segmento;
+        this.tamanhoSegmento = segmento.size();
+        this.gravador = new Thread(this::gravarLotes, "diario-pedidos");
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    /**
+     * Abre o diário com o prazo e o tamanho de segmento padrão. Veja abrir(Path, Catalogo, Lista, long, long).
+     */
+    public static DiarioPedidos abrir(Path diretorio, Catalogo catalogo, Lista<Pedido> destino) throws IOException {
+        return abrir(diretorio, catalogo, destino, PRAZO_PADRAO_MICROS, TAMANHO_SEGMENTO_PADRAO);
+    }
+
+    /**
+     * Abre o diário: reproduz todos os segmentos existentes, na ordem, inserindo os pedidos em 'destino', descarta
+     * um registro incompleto no fim do último segmento (gravação interrompida) e passa a acrescentar registros nele.
+     * Qualquer outro registro inválido (no meio de um segmento, ou no fim de um segmento que não é o último) é tratado
+     * como corrupção: a abertura falha e os segmentos são mantidos como estão, para recuperação manual.
+     * @param diretorio Diretório dos segmentos; é criado se não existir.
+     * @param catalogo Catálogo usado para encontrar os produtos dos itens, pelo código e, se preciso, pela descrição.
+     * @param destino Lista que recebe os pedidos reproduzidos.
+     * @param prazoMicros Tempo máximo, em microssegundos, que um registro espera por outros antes do fsync do lote;
+     *                    0 sincroniza assim que a thread gravadora fica livre.
+     * @param tamanhoMaximoSegmento Tamanho a partir do qual um novo segmento é aberto.
+     * @return O diário aberto, pronto para registrar pedidos.
+     * @throws IOException em caso de erro ao ler ou abrir os segmentos, ou de registro corrompido.
+     * @throws IllegalArgumentException se o prazo for negativo ou o tamanho de segmento não for positivo.
+     */
+    public static DiarioPedidos abrir(Path diretorio, Catalogo catalogo, Lista<Pedido> destino, long prazoMicros,
+            long tamanhoMaximoSegmento) throws IOException {
+        if (prazoMicros < 0)
+            throw new IllegalArgumentException("Prazo inválido para o diário de pedidos: " + prazoMicros);
+        if (tamanhoMaximoSegmento <= TAMANHO_CABECALHO_SEGMENTO)
+            throw new IllegalArgumentException("Tamanho de segmento inválido para o diário de pedidos: " + tamanhoMaximoSegmento);
+
+        Files.createDirectories(diretorio);
+        List<Path> segmentos = listarSegmentos(diretorio);
+        int reproduzidos = 0;
+        long fimValido = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            Reproducao reproducao = reproduzir(segmentos.get(i), i == segmentos.size() - 1, catalogo, destino);
+            reproduzidos += reproducao.pedidos;
+            fimValido = reproducao.fimValido;
+        }
+
+        FileChannel canal;
+        long numero;
+        if (segmentos.isEmpty() || fimValido < TAMANHO_CABECALHO_SEGMENTO) {
+            numero = segmentos.isEmpty() ? 1 : numeroDoSegmento(segmentos.get(segmentos.size() - 1));
+            canal = criarSegmento(diretorio, numero);
+        } else {
+            numero = numeroDoSegmento(segmentos.get(segmentos.size() - 1));
+            canal = FileChannel.open(caminhoDoSegmento(diretorio, numero), StandardOpenOption.WRITE);
+            if (canal.size() > fimValido) {
+                System.err.println("Diário de pedidos: descartando " + (canal.size() - fimValido)
+                        + " bytes de uma gravação interrompida no fim do segmento " + numero + ".");
+                canal.truncate(fimValido);
+                canal.force(true);
+            }
+        }
+        return new DiarioPedidos(diretorio, prazoMicros, tamanhoMaximoSegmento, reproduzidos, numero, canal);
+    }
+
+    /**
+     * Retorna quantos pedidos foram reconstruídos a partir do diário na abertura.
+     * @return Quantidade de pedidos reproduzidos.
+     */
+    public int pedidosReproduzidos() {
+        return pedidosReproduzidos;
+    }
+
+    /**
+     * Registra um pedido finalizado. O pedido é convertido em registro na thread de quem chama; a gravação e o fsync
+     * são feitos pela thread gravadora, junto com os demais registros do mesmo lote.
+     * @param pedido Pedido finalizado (não vazio).
+     * @return Confirmação concluída quando o registro estiver no disco, ou com erro (UncheckedIOException) se
+     *         a gravação falhar.
+     * @throws IllegalStateException se o diário já estiver fechado.
+     */
+    public CompletableFuture<Void> registrar(Pedido pedido) {
+        Registro registro = new Registro(codificar(pedido));
+        trava.readLock().lock();
+        try {
+            if (fechado)
+                throw new IllegalStateException("O diário de pedidos está fechado!");
+            pendentes.enfileirar(registro);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            registro.confirmacao.completeExceptionally(e);
+        } finally {
+            trava.readLock().unlock();
+        }
+        return registro.confirmacao;
+    }
+
+    /**
+     * Fecha o diário: grava os registros pendentes, sincroniza e encerra a thread gravadora.
+     * @throws IOException em caso de erro ao fechar o segmento.
+     */
+    @Override
+    public void close() throws IOException {
+        trava.writeLock().lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            pendentes.enfileirar(Registro.FIM);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            gravador.interrupt(); // Sem a marca de fim, a thread gravadora encerra ao ser interrompida
+        } finally {
+            trava.writeLock().unlock();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segmento.close();
+    }
+
+    /** Laço da thread gravadora: monta um lote a partir do primeiro registro pendente e grava com um único fsync. */
+    private void gravarLotes() {
+        List<Registro> lote = new ArrayList<>();
+        boolean fim = false;
+        while (!fim) {
+            try {
+                lote.add(pendentes.desenfileirar());
+                long limite = System.nanoTime() + prazoNanos;
+                pendentes.drenar(REGISTROS_POR_LOTE, lote);
+                while (lote.size() < REGISTROS_POR_LOTE && lote.get(lote.size() - 1) != Registro.FIM) {
+                    long restante = limite - System.nanoTime();
+                    Registro proximo = (restante > 0) ? pendentes.desenfileirar(restante, TimeUnit.NANOSECONDS) : null;
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                    pendentes.drenar(REGISTROS_POR_LOTE - lote.size(), lote);
+                }
+            } catch (InterruptedException e) {
+                fim = true; // Encerra depois de gravar o que já foi retirado da fila
+            }
+
+            if (!lote.isEmpty() && lote.get(lote.size() - 1) == Registro.FIM) {
+                lote.remove(lote.size() - 1);
+                fim = true;
+            }
+            gravar(lote);
+            lote.clear();
+        }
+
+        // Só chega aqui algo depois do fim se a thread foi interrompida: não será gravado
+        pendentes.drenar(Integer.MAX_VALUE, lote);
+        falhar(lote, 0, new IllegalStateException("O diário de pedidos foi fechado antes da gravação do pedido!"));
+    }
+
+    private void gravar(List<Registro> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        if (falha != null) {
+            falhar(lote, 0, falha);
+            return;
+        }
+        int confirmados = 0;                   // Registros já sincronizados em um segmento anterior
+        long inicioNoSegmento = tamanhoSegmento; // Onde o lote começa no segmento atual
+        try {
+            for (int i = 0; i < lote.size(); i++) {
+                Registro registro = lote.get(i);
+                if (tamanhoSegmento + registro.dados.remaining() > tamanhoMaximoSegmento
+                        && tamanhoSegmento > TAMANHO_CABECALHO_SEGMENTO) {
+                    rolarSegmento(); // Sincroniza o segmento anterior: os registros gravados nele estão confirmados
+                    for (; confirmados < i; confirmados++) {
+                        lote.get(confirmados).confirmacao.complete(null);
+                    }
+                    inicioNoSegmento = tamanhoSegmento;
+                }
+                while (registro.dados.hasRemaining()) {
+                    tamanhoSegmento += segmento.write(registro.dados, tamanhoSegmento);
+                }
+            }
+            segmento.force(false);
+            for (; confirmados < lote.size(); confirmados++) {
+                lote.get(confirmados).confirmacao.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            descartarGravacaoIncompleta(inicioNoSegmento, e);
+            falhar(lote, confirmados, e);
+        }
+    }
+
+    /**
+     * Depois de uma falha, volta o segmento para o ponto em que o lote começou, para que os próximos registros
+     * não fiquem depois de bytes incompletos (que encerrariam a reprodução e seriam descartados na abertura).
+     * Se nem isso for possível, o diário passa a recusar todos os registros.
+     */
+    private void descartarGravacaoIncompleta(long inicioNoSegmento, Exception causa) {
+        try {
+            segmento.truncate(inicioNoSegmento);
+            segmento.force(true);
+            tamanhoSegmento = inicioNoSegmento;
+        } catch (IOException | RuntimeException e) {
+            falha = new IOException("O diário de pedidos foi desativado: não foi possível descartar uma gravação incompleta", e);
+            falha.addSuppressed(causa);
+            System.err.println(falha.getMessage() + ". Detalhe: " + e.getMessage());
+        }
+    }
+
+    /** Conclui com erro as confirmações do lote a partir da posição indicada. */
+    private static void falhar(List<Registro> lote, int inicio, Exception causa) {
+        Throwable erro = (causa instanceof IOException) ? new UncheckedIOException((IOException) causa) : causa;
+        for (int i = inicio; i < lote.size(); i++) {
+            lote.get(i).confirmacao.completeExceptionally(erro);
+        }
+    }
+
+    /** Sincroniza e fecha o segmento atual e abre o seguinte. */
+    private void rolarSegmento() throws IOException {
+        segmento.force(false);
+        segmento.close();
+        numeroSegmento++;
+        segmento = criarSegmento(diretorio, numeroSegmento);
+        tamanhoSegmento = segmento.size();
+    }
+
+    private static FileChannel criarSegmento(Path diretorio, long numero) throws IOException {
+        FileChannel canal = FileChannel.open(caminhoDoSegmento(diretorio, numero), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO_SEGMENTO);
+        cabecalho.putInt(ASSINATURA_SEGMENTO).putInt(VERSAO).putLong(numero).flip();
+        while (cabecalho.hasRemaining()) {
+            canal.write(cabecalho, cabecalho.position());
+        }
+        canal.force(true);
+        sincronizarDiretorio(diretorio);
+        return canal;
+    }
+
+    /** Sincroniza o diretório, para que a entrada de um segmento recém-criado sobreviva a uma queda do sistema. */
+    private static void sincronizarDiretorio(Path diretorio) throws IOException {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (AccessDeniedException e) {
+            // Sistemas que não permitem abrir diretórios (Windows) já gravam a entrada junto com o arquivo
+        }
+    }
+
+    private static Path caminhoDoSegmento(Path diretorio, long numero) {
+        return diretorio.resolve(String.format("segmento-%06d.diario", numero));
+    }
+
+    private static long numeroDoSegmento(Path caminho) {
+        String nome = caminho.getFileName().toString();
+        return Long.parseLong(nome.substring("segmento-".length(), nome.length() - ".diario".length()));
+    }
+
+    /** Lista os segmentos do diretório em ordem crescente de número. */
+    private static List<Path> listarSegmentos(Path diretorio) throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "segmento-[0-9]*.diario")) {
+            for (Path arquivo : arquivos) {
+                segmentos.add(arquivo);
+            }
+        }
+        segmentos.sort((a, b) -> Long.compare(numeroDoSegmento(a), numeroDoSegmento(b)));
+        return segmentos;
+    }
+
+    /** Converte o pedido no registro [tamanho][CRC32][conteúdo], pronto para ser gravado. */
+    static ByteBuffer codificar(Pedido pedido) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + 48 * pedido.getItens().tamanho());
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeInt(0); // Reservado para o tamanho
+            saida.writeInt(0); // Reservado para o CRC32
+            saida.writeLong(pedido.getDataPedido().toEpochDay());
+            saida.writeInt(pedido.getItens().tamanho());
+            for (ItemPedido item : pedido.getItens()) {
+                saida.writeInt(item.getProduto().hashCode());
+                saida.writeInt(item.getQuantidade());
+                saida.writeDouble(item.getSubtotal());
+                saida.writeUTF(item.getProduto().descricao);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Não ocorre ao escrever em memória
+        }
+        ByteBuffer registro = ByteBuffer.wrap(bytes.toByteArray());
+        int tamanhoConteudo = registro.capacity() - TAMANHO_CABECALHO_REGISTRO;
+        if (tamanhoConteudo > TAMANHO_MAXIMO_REGISTRO)
+            throw new IllegalArgumentException("Pedido grande demais para o diário: " + tamanhoConteudo + " bytes!");
+        CRC32 crc = new CRC32();
+        crc.update(registro.array(), TAMANHO_CABECALHO_REGISTRO, tamanhoConteudo);
+        registro.putInt(0, tamanhoConteudo);
+        registro.putInt(4, (int) crc.getValue());
+        return registro;
+    }
+
+    /**
+     * Reproduz os registros de um segmento, mapeado em memória. Um registro inválido só é aceito como fim da
+     * reprodução se for o resto de uma gravação interrompida no último segmento (descartado por abrir); nos
+     * demais casos o segmento está corrompido.
+     * @throws IOException em caso de erro de leitura ou de segmento corrompido, indicando o arquivo e a posição.
+     */
+    private static Reproducao reproduzir(Path caminho, boolean ultimo, Catalogo catalogo, Lista<Pedido> destino) throws IOException {
+        Reproducao reproducao = new Reproducao();
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO_SEGMENTO) {
+                return reproducao; // Segmento criado mas sem cabeçalho completo
+            }
+            if (tamanho > Integer.MAX_VALUE)
+                throw new IOException("Segmento grande demais para ser mapeado: " + caminho);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (mapa.getInt(0) != ASSINATURA_SEGMENTO || mapa.getInt(4) != VERSAO)
+                throw new IOException("Segmento do diário com formato desconhecido: " + caminho);
+
+            CRC32 crc = new CRC32();
+            byte[] conteudo = new byte[256];
+            int posicao = TAMANHO_CABECALHO_SEGMENTO;
+            reproducao.fimValido = posicao;
+            while (posicao < tamanho) {
+                int tamanhoConteudo = tamanhoRegistroValido(mapa, posicao, crc);
+                if (tamanhoConteudo < 0) {
+                    verificarFimInterrompido(caminho, ultimo, mapa, posicao, crc);
+                    break;
+                }
+                if (conteudo.length < tamanhoConteudo) {
+                    conteudo = new byte[Math.max(tamanhoConteudo, conteudo.length * 2)];
+                }
+                mapa.get(posicao + TAMANHO_CABECALHO_REGISTRO, conteudo, 0, tamanhoConteudo);
+                Pedido pedido = decodificar(conteudo, tamanhoConteudo, catalogo, reproducao);
+                if (pedido != null) {
+                    destino.inserir(pedido);
+                    reproducao.pedidos++;
+                }
+                posicao += TAMANHO_CABECALHO_REGISTRO + tamanhoConteudo;
+                reproducao.fimValido = posicao;
+            }
+        }
+        if (reproducao.itensIgnorados > 0) {
+            System.err.println("Diário de pedidos: " + reproducao.itensIgnorados + " item(ns) de " + caminho.getFileName()
+                    + " ignorado(s) por não haver mais o produto no catálogo.");
+        }
+        return reproducao;
+    }
+
+    /**
+     * Retorna o tamanho do conteúdo do registro que começa na posição indicada, ou -1 se ali não houver um registro
+     * completo, de tamanho válido e com o CRC correto.
+     */
+    private static int tamanhoRegistroValido(MappedByteBuffer mapa, int posicao, CRC32 crc) {
+        if (posicao + TAMANHO_CABECALHO_REGISTRO > mapa.limit()) {
+            return -1;
+        }
+        int tamanhoConteudo = mapa.getInt(posicao);
+        if (tamanhoConteudo <= 0 || tamanhoConteudo > TAMANHO_MAXIMO_REGISTRO
+                || posicao + TAMANHO_CABECALHO_REGISTRO + (long) tamanhoConteudo > mapa.limit()) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(mapa.slice(posicao + TAMANHO_CABECALHO_REGISTRO, tamanhoConteudo));
+        return ((int) crc.getValue() == mapa.getInt(posicao + 4)) ? tamanhoConteudo : -1;
+    }
+
+    /**
+     * Confirma que o registro inválido na posição indicada é o resto de uma gravação interrompida: ele precisa estar
+     * no último segmento, passar do fim do arquivo (ou o restante do arquivo ser todo de zeros, quando o tamanho chegou
+     * ao disco antes dos dados) e não pode haver nenhum registro válido depois dele. Um registro completo com CRC
+     * errado é corrupção, e não gravação interrompida, porque cada lote só é confirmado depois do fsync.
+     * @throws IOException se o segmento estiver corrompido.
+     */
+    private static void verificarFimInterrompido(Path caminho, boolean ultimo, MappedByteBuffer mapa, int posicao, CRC32 crc)
+            throws IOException {
+        boolean passaDoFim = posicao + TAMANHO_CABECALHO_REGISTRO > mapa.limit()
+                || posicao + TAMANHO_CABECALHO_REGISTRO + (long) mapa.getInt(posicao) > mapa.limit();
+        boolean restoZerado = true;
+        for (int i = posicao; i < mapa.limit() && restoZerado; i++) {
+            restoZerado = (mapa.get(i) == 0);
+        }
+        int seguinte = -1;
+        for (int i = posicao + 1; i + TAMANHO_CABECALHO_REGISTRO <= mapa.limit() && seguinte < 0; i++) {
+            if (tamanhoRegistroValido(mapa, i, crc) >= 0) {
+                seguinte = i;
+            }
+        }
+        if (ultimo && seguinte < 0 && (passaDoFim || restoZerado)) {
+            return;
+        }
+        String motivo;
+        if (seguinte >= 0) {
+            motivo = ", seguido de registros válidos a partir da posição " + seguinte;
+        } else if (!ultimo) {
+            motivo = ", em um segmento que não é o último";
+        } else {
+            motivo = ", completo mas com CRC ou tamanho inválido";
+        }
+        throw new IOException("Diário de pedidos corrompido: registro inválido em " + caminho + ", posição " + posicao
+                + motivo + ". Os segmentos foram mantidos sem alteração.");
+    }
+
+    private static Pedido decodificar(byte[] conteudo, int tamanho, Catalogo catalogo, Reproducao reproducao)
+            throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo, 0, tamanho));
+        Pedido pedido = new Pedido(LocalDate.ofEpochDay(entrada.readLong()));
+        int quantidadeItens = entrada.readInt();
+        for (int i = 0; i < quantidadeItens; i++) {
+            int idProduto = entrada.readInt();
+            int quantidade = entrada.readInt();
+            double subtotal = entrada.readDouble();
+            String descricao = entrada.readUTF();
+
+            Produto produto = catalogo.localizarPorId(idProduto);
+            if (produto == null || !produto.descricao.equals(descricao)) {
+                produto = catalogo.localizarPorDescricao(descricao); // O código mudou com o arquivo de produtos
+            }
+            if (produto == null || quantidade <= 0) {
+                reproducao.itensIgnorados++;
+                continue;
+            }
+            pedido.restaurarItem(produto, quantidade, subtotal);
+        }
+        return pedido.vazio() ? null : pedido;
+    }
+
+    /** Resultado da reprodução de um segmento. */
+    private static final class Reproducao {
+        private int pedidos;
+        private int itensIgnorados;
+        private long fimValido;
+    }
+
+    /** Registro pendente de gravação e a confirmação entregue a quem o registrou. */
+    private static final class Registro {
+
+        /** Marca de fim, enfileirada por close */
+        private static final Registro FIM = new Registro(ByteBuffer.allocate(0));
+
+        private final ByteBuffer dados;
+        private final CompletableFuture<Void> confirmacao = new CompletableFuture<>();
+
+        private Registro(ByteBuffer dados) {
+            this.dados = dados;
+        }
+    }
+}
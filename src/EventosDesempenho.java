@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+/**
+ * Eventos do JDK Flight Recorder da aplicação e a gravação contínua usada para investigar incidentes.
+ * Os eventos só custam algo quando há uma gravação ativa que os habilite: sem ela, begin/commit não fazem nada.
+ * Além da gravação iniciada por iniciarGravacao, os eventos aparecem em qualquer gravação feita com
+ * -XX:StartFlightRecording ou jcmd, na categoria "Pedidos".
+ */
+public final class EventosDesempenho {
+
+    /** Nome da gravação contínua, para uso com jcmd PID JFR.dump name=pedidos filename=arquivo.jfr */
+    public static final String NOME_GRAVACAO = "pedidos";
+
+    /** Tempo mantido na gravação contínua; eventos mais antigos são descartados */
+    private static final Duration IDADE_MAXIMA = Duration.ofMinutes(30);
+
+    private static Recording gravacao;
+
+    private EventosDesempenho() {
+    }
+
+    /**
+     * Inicia uma gravação contínua com a configuração padrão do JDK e os eventos da aplicação, mantendo
+     * os últimos 30 minutos. A gravação é despejada no arquivo indicado ao encerrar a JVM, e pode ser
+     * despejada antes disso por despejarGravacao ou por jcmd. Chamadas repetidas não criam novas gravações.
+     * @param destino Arquivo .jfr gravado ao encerrar a JVM.
+     * @throws IOException se a configuração padrão não puder ser lida ou o destino for inválido.
+     */
+    public static synchronized void iniciarGravacao(Path destino) throws IOException {
+        if (gravacao != null) {
+            return;
+        }
+        Recording nova;
+        try {
+            nova = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Configuração padrão do Flight Recorder inválida: " + e.getMessage(), e);
+        }
+        nova.setName(NOME_GRAVACAO);
+        nova.setToDisk(true);
+        nova.setMaxAge(IDADE_MAXIMA);
+        nova.setDumpOnExit(true);
+        nova.setDestination(destino);
+        nova.enable(CargaCatalogo.class);
+        nova.enable(BuscaProduto.class);
+        nova.enable(FinalizacaoPedido.class);
+        nova.start();
+        gravacao = nova;
+    }
+
+    /**
+     * Despeja o conteúdo atual da gravação contínua em um arquivo, sem interrompê-la.
+     * @param arquivo Arquivo .jfr de destino.
+     * @throws IOException em caso de erro ao gravar o arquivo.
+     * @throws IllegalStateException se não houver gravação iniciada.
+     */
+    public static synchronized void despejarGravacao(Path arquivo) throws IOException {
+        if (gravacao == null)
+            throw new IllegalStateException("Não há gravação do Flight Recorder em andamento!");
+        gravacao.dump(arquivo);
+    }
+
+    /**
+     * Inicia a medição de uma operação: marca o início do evento e retorna o instante inicial para o histograma.
+     * @param evento Evento recém-criado da operação.
+     * @return Instante inicial, de System.nanoTime(), a ser passado para concluir.
+     */
+    static long iniciar(Event evento) {
+        evento.begin();
+        return System.nanoTime();
+    }
+
+    /**
+     * Conclui a medição iniciada por iniciar: encerra o evento e registra a duração no histograma.
+     * Se o retorno for true, o chamador deve gravar o evento (com o método gravar de cada evento); assim os
+     * campos só são calculados quando há uma gravação ativa que o aceite.
+     * @param evento Evento passado para iniciar.
+     * @param histograma Histograma que recebe a duração da operação, em nanossegundos.
+     * @param inicio Instante retornado por iniciar.
+     * @return true se o evento deve ser gravado.
+     */
+    static boolean concluir(Event evento, Metricas.Histograma histograma, long inicio) {
+        evento.end();
+        histograma.registrarDesde(inicio);
+        return evento.shouldCommit();
+    }
+
+    /** Carga do catálogo de produtos, do retrato binário ou do arquivo de texto. */
+    @Name("pedidos.CargaCatalogo")
+    @Label("Carga do Catálogo")
+    @Category("Pedidos")
+    @Description("Leitura do catálogo de produtos na inicialização")
+    public static final class CargaCatalogo extends Event {
+
+        @Label("Arquivo")
+        String arquivo;
+
+        @Label("Origem")
+        @Description("retrato ou texto")
+        String origem;
+
+        @Label("Produtos")
+        int produtos;
+
+        void gravar(String arquivo, String origem, int produtos) {
+            this.arquivo = arquivo;
+            this.origem = origem;
+            this.produtos = produtos;
+            commit();
+        }
+    }
+
+    /** Busca de um produto no catálogo, por código ou por descrição. */
+    @Name("pedidos.BuscaProduto")
+    @Label("Busca de Produto")
+    @Category("Pedidos")
+    public static final class BuscaProduto extends Event {
+
+        @Label("Tipo")
+        @Description("codigo ou descricao")
+        String tipo;
+
+        @Label("Chave")
+        String chave;
+
+        @Label("Encontrado")
+        boolean encontrado;
+
+        void gravar(String tipo, String chave, boolean encontrado) {
+            this.tipo = tipo;
+            this.chave = chave;
+            this.encontrado = encontrado;
+            commit();
+        }
+    }
+
+    /** Finalização de um pedido, incluindo a espera pela gravação no diário. */
+    @Name("pedidos.FinalizacaoPedido")
+    @Label("Finalização de Pedido")
+    @Category("Pedidos")
+    public static final class FinalizacaoPedido extends Event {
+
+        @Label("Itens")
+        int itens;
+
+        @Label("Valor")
+        double valor;
+
+        @Label("Gravado no diário")
+        boolean gravadoNoDiario;
+
+        void gravar(int itens, double valor, boolean gravadoNoDiario) {
+            this.itens = itens;
+            this.valor = valor;
+            this.gravadoNoDiario = gravadoNoDiario;
+            commit();
+        }
+    }
+}
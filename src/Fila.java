@@ -1,9 +1,18 @@
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.NoSuchElementException;
 
 public class Fila<E> {
 
 	private Celula<E> frente;
 	private Celula<E> tras;
+
+	/** Senha que será dada ao próximo item enfileirado e senha do item na frente da fila */
+	private long proximaSenha;
+	private long senhaDaFrente;
+
+	/** Senhas de cada item ainda na fila, em ordem de chegada (um item pode estar na fila mais de uma vez) */
+	private final HashMap<E, ArrayDeque<Long>> senhas = new HashMap<>();
 	
 	Fila() {
 		
@@ -22,6 +31,8 @@ public class Fila<E> {
 		
 		tras.setProximo(novaCelula);
 		tras = tras.getProximo();
+
+		senhas.computeIfAbsent(item, chave -> new ArrayDeque<>(1)).addLast(proximaSenha++);
 	}
 	
 	public E desenfileirar() {
@@ -38,20 +49,33 @@ public class Fila<E> {
 			
 		if (primeiro == tras)
 			tras = frente;
+
+		ArrayDeque<Long> senhasDoItem = senhas.get(item);
+		senhasDoItem.removeFirst();
+		if (senhasDoItem.isEmpty())
+			senhas.remove(item);
+		senhaDaFrente++;
 		
 		return item;
 	}
 
-	public int quantosAfrente (Celula<E> atual, E item){
-		if (atual.getItem().equals(item)) {
-			return 0;
-		} else {
-			return 1 + quantosAfrente(atual.getProximo(), item);
+	/**
+	 * Informa quantos itens estão à frente da primeira ocorrência do item na fila, em tempo constante:
+	 * cada item recebe uma senha crescente ao ser enfileirado e a posição é a diferença entre a
+	 * sua senha e a senha do item que está na frente.
+	 * @param item Item procurado.
+	 * @return Quantidade de itens à frente do item (0 se ele é o primeiro).
+	 * @throws NoSuchElementException se o item não estiver na fila.
+	 */
+	public int verificarQuantosAfrente(E item) {
+
+		ArrayDeque<Long> senhasDoItem = senhas.get(item);
+
+		if (senhasDoItem == null) {
+			throw new NoSuchElementException("O item não está na fila!");
 		}
-	}
 
-	public int verificarQuantosAfrente(E item) {
-		return quantosAfrente(frente.getProximo(), item);
+		return (int) (senhasDoItem.peekFirst() - senhaDaFrente);
 	}
 	
 	public E consultarPrimeiro() {
@@ -0,0 +1,210 @@
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila limitada e segura para várias threads, sobre uma FilaCircular de capacidade fixa.
+ * Produtores podem esperar por espaço (enfileirar), desistir na hora (oferecer) ou esperar
+ * por um tempo máximo; consumidores podem esperar por itens ou retirar vários de uma vez (drenar),
+ * com uma única aquisição do bloqueio. Itens nulos não são aceitos.
+ */
+public class FilaBloqueante<E> {
+
+	private final FilaCircular<E> itens;
+	private final ReentrantLock bloqueio = new ReentrantLock();
+	private final Condition naoVazia = bloqueio.newCondition();
+	private final Condition naoCheia = bloqueio.newCondition();
+
+	/**
+	 * Cria uma fila vazia com a capacidade indicada.
+	 * @param capacidade Quantidade máxima de itens na fila (maior que zero).
+	 */
+	public FilaBloqueante(int capacidade) {
+		itens = new FilaCircular<>(capacidade);
+	}
+
+	public boolean vazia() {
+
+		bloqueio.lock();
+		try {
+			return itens.vazia();
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	public int tamanho() {
+
+		bloqueio.lock();
+		try {
+			return itens.tamanho();
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Insere o item no final da fila, esperando enquanto ela estiver cheia.
+	 * @param item Item a ser enfileirado (não nulo).
+	 * @throws InterruptedException se a thread for interrompida durante a espera.
+	 */
+	public void enfileirar(E item) throws InterruptedException {
+
+		validar(item);
+		bloqueio.lockInterruptibly();
+		try {
+			while (itens.cheia()) {
+				naoCheia.await();
+			}
+			inserir(item);
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Insere o item no final da fila apenas se houver espaço, sem esperar.
+	 * @param item Item a ser enfileirado (não nulo).
+	 * @return TRUE se o item foi inserido; FALSE se a fila estava cheia.
+	 */
+	public boolean oferecer(E item) {
+
+		validar(item);
+		bloqueio.lock();
+		try {
+			if (itens.cheia()) {
+				return false;
+			}
+			inserir(item);
+			return true;
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Insere o item no final da fila, esperando no máximo o tempo indicado por espaço.
+	 * @param item Item a ser enfileirado (não nulo).
+	 * @param tempo Tempo máximo de espera.
+	 * @param unidade Unidade do tempo de espera.
+	 * @return TRUE se o item foi inserido; FALSE se o tempo se esgotou com a fila cheia.
+	 * @throws InterruptedException se a thread for interrompida durante a espera.
+	 */
+	public boolean oferecer(E item, long tempo, TimeUnit unidade) throws InterruptedException {
+
+		validar(item);
+		long restante = unidade.toNanos(tempo);
+		bloqueio.lockInterruptibly();
+		try {
+			while (itens.cheia()) {
+				if (restante <= 0) {
+					return false;
+				}
+				restante = naoCheia.awaitNanos(restante);
+			}
+			inserir(item);
+			return true;
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Retira o primeiro item da fila, esperando enquanto ela estiver vazia.
+	 * @return O item retirado.
+	 * @throws InterruptedException se a thread for interrompida durante a espera.
+	 */
+	public E desenfileirar() throws InterruptedException {
+
+		bloqueio.lockInterruptibly();
+		try {
+			while (itens.vazia()) {
+				naoVazia.await();
+			}
+			return retirar();
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Retira o primeiro item da fila, esperando no máximo o tempo indicado por um item.
+	 * @param tempo Tempo máximo de espera.
+	 * @param unidade Unidade do tempo de espera.
+	 * @return O item retirado ou null, se o tempo se esgotou com a fila vazia.
+	 * @throws InterruptedException se a thread for interrompida durante a espera.
+	 */
+	public E desenfileirar(long tempo, TimeUnit unidade) throws InterruptedException {
+
+		long restante = unidade.toNanos(tempo);
+		bloqueio.lockInterruptibly();
+		try {
+			while (itens.vazia()) {
+				if (restante <= 0) {
+					return null;
+				}
+				restante = naoVazia.awaitNanos(restante);
+			}
+			return retirar();
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	/**
+	 * Transfere para o destino, na ordem da fila, até 'maximo' itens já disponíveis, sem esperar.
+	 * Todos os itens são retirados com uma única aquisição do bloqueio.
+	 * @param maximo Quantidade máxima de itens a transferir.
+	 * @param destino Coleção que recebe os itens retirados.
+	 * @return A quantidade de itens transferidos (0 se a fila estava vazia).
+	 */
+	public int drenar(int maximo, Collection<? super E> destino) {
+
+		int transferidos = 0;
+
+		bloqueio.lock();
+		try {
+			while (transferidos < maximo && !itens.vazia()) {
+				destino.add(itens.desenfileirar());
+				transferidos++;
+			}
+			if (transferidos > 0) {
+				naoCheia.signalAll();
+			}
+		} finally {
+			bloqueio.unlock();
+		}
+		return transferidos;
+	}
+
+	public E consultarPrimeiro() {
+
+		bloqueio.lock();
+		try {
+			if (itens.vazia()) {
+				throw new NoSuchElementException("Nao há nenhum item na fila!");
+			}
+			return itens.consultarPrimeiro();
+		} finally {
+			bloqueio.unlock();
+		}
+	}
+
+	private static void validar(Object item) {
+		if (item == null)
+			throw new IllegalArgumentException("Não é possível enfileirar um item nulo!");
+	}
+
+	private void inserir(E item) {
+		itens.enfileirar(item);
+		naoVazia.signal();
+	}
+
+	private E retirar() {
+		E item = itens.desenfileirar();
+		naoCheia.signal();
+		return item;
+	}
+}
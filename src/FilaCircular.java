@@ -0,0 +1,111 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Fila implementada sobre um vetor circular. Cada item ocupa uma posição do vetor, sem a célula
+ * alocada por inclusão da Fila encadeada. Pode crescer conforme a necessidade ou ter capacidade fixa.
+ */
+public class FilaCircular<E> {
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	private Object[] itens;
+	private int frente;
+	private int tamanho;
+	private final boolean capacidadeFixa;
+
+	/** Cria uma fila vazia que cresce conforme a necessidade */
+	public FilaCircular() {
+		itens = new Object[CAPACIDADE_INICIAL];
+		capacidadeFixa = false;
+	}
+
+	/**
+	 * Cria uma fila vazia com capacidade fixa.
+	 * @param capacidadeMaxima Quantidade máxima de itens na fila (maior que zero).
+	 */
+	public FilaCircular(int capacidadeMaxima) {
+		if (capacidadeMaxima <= 0)
+			throw new IllegalArgumentException("Capacidade inválida para a fila: " + capacidadeMaxima);
+		itens = new Object[capacidadeMaxima];
+		capacidadeFixa = true;
+	}
+
+	public boolean vazia() {
+
+		return (tamanho == 0);
+	}
+
+	/**
+	 * Indica se a fila atingiu a capacidade máxima. Uma fila sem capacidade fixa nunca fica cheia.
+	 * @return TRUE se não é possível enfileirar mais itens.
+	 */
+	public boolean cheia() {
+
+		return capacidadeFixa && (tamanho == itens.length);
+	}
+
+	public int tamanho() {
+
+		return tamanho;
+	}
+
+	/**
+	 * Insere o item no final da fila.
+	 * @param item Item a ser enfileirado.
+	 * @throws IllegalStateException se a fila tiver capacidade fixa e estiver cheia.
+	 */
+	public void enfileirar(E item) {
+
+		if (tamanho == itens.length) {
+			if (capacidadeFixa)
+				throw new IllegalStateException("A fila está cheia!");
+			crescer();
+		}
+
+		itens[(frente + tamanho) % itens.length] = item;
+		tamanho++;
+	}
+
+	public E desenfileirar() {
+
+		E item = consultarPrimeiro();
+
+		itens[frente] = null; // Libera a posição para o coletor de lixo
+		frente = (frente + 1) % itens.length;
+		tamanho--;
+
+		return item;
+	}
+
+	@SuppressWarnings("unchecked")
+	public E consultarPrimeiro() {
+
+		if (vazia()) {
+			throw new NoSuchElementException("Nao há nenhum item na fila!");
+		}
+
+		return (E) itens[frente];
+	}
+
+	private void crescer() {
+
+		Object[] novos = new Object[itens.length * 2];
+
+		for (int i = 0; i < tamanho; i++) {
+			novos[i] = itens[(frente + i) % itens.length];
+		}
+		itens = novos;
+		frente = 0;
+	}
+
+	public void imprimir() {
+
+		if (vazia())
+			System.out.println("A fila está vazia!");
+		else {
+			for (int i = 0; i < tamanho; i++) {
+				System.out.print(itens[(frente + i) % itens.length] + " ");
+			}
+		}
+	}
+}
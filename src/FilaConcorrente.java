@@ -0,0 +1,94 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * Fila encadeada segura para várias threads, sem bloqueio (algoritmo de Michael e Scott).
+ * Usa as mesmas células da Fila; a frente é sempre uma célula sentinela, e frente, trás e o
+ * próximo de cada célula são atualizados por compare-and-set. Produtores e consumidores nunca
+ * esperam por um bloqueio: uma operação só é repetida se outra thread alterou a fila no meio dela.
+ * Como o item da célula é final, a célula que vira sentinela segura o item retirado até a próxima retirada.
+ */
+public class FilaConcorrente<E> {
+
+	private static final VarHandle FRENTE;
+	private static final VarHandle TRAS;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			FRENTE = lookup.findVarHandle(FilaConcorrente.class, "frente", Celula.class);
+			TRAS = lookup.findVarHandle(FilaConcorrente.class, "tras", Celula.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile Celula<E> frente;
+	private volatile Celula<E> tras;
+
+	public FilaConcorrente() {
+
+		Celula<E> sentinela = new Celula<E>();
+		frente = tras = sentinela;
+	}
+
+	public boolean vazia() {
+
+		return (frente.getProximoVolatil() == null);
+	}
+
+	public void enfileirar(E item) {
+
+		Celula<E> novaCelula = new Celula<E>(item);
+
+		while (true) {
+			Celula<E> ultima = tras;
+			Celula<E> proxima = ultima.getProximoVolatil();
+
+			if (proxima != null) {
+				// Outra thread ligou uma célula mas ainda não avançou 'tras': ajuda a avançar
+				TRAS.compareAndSet(this, ultima, proxima);
+			} else if (ultima.trocarProximo(null, novaCelula)) {
+				TRAS.compareAndSet(this, ultima, novaCelula);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Retira e retorna o primeiro item da fila.
+	 * @return O item retirado.
+	 * @throws NoSuchElementException se a fila estiver vazia no momento da retirada.
+	 */
+	public E desenfileirar() {
+
+		while (true) {
+			Celula<E> sentinela = frente;
+			Celula<E> ultima = tras;
+			Celula<E> primeiro = sentinela.getProximoVolatil();
+
+			if (primeiro == null) {
+				throw new NoSuchElementException("Nao há nenhum item na fila!");
+			}
+			if (sentinela == ultima) {
+				// 'tras' ficou para trás de uma inclusão em andamento
+				TRAS.compareAndSet(this, ultima, primeiro);
+			} else if (FRENTE.compareAndSet(this, sentinela, primeiro)) {
+				// A primeira célula passa a ser a sentinela
+				return primeiro.getItem();
+			}
+		}
+	}
+
+	public E consultarPrimeiro() {
+
+		Celula<E> primeiro = frente.getProximoVolatil();
+
+		if (primeiro == null) {
+			throw new NoSuchElementException("Nao há nenhum item na fila!");
+		}
+
+		return primeiro.getItem();
+	}
+}
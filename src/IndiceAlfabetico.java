@@ -0,0 +1,231 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Índice dos produtos em ordem alfabética, mantido em uma skip list ordenada por Produto.compareTo
+ * (descrição, com distinção entre maiúsculas e minúsculas) e, em caso de empate, pelo código.
+ * Localizar o teto ou o piso de uma descrição custa O(log n) esperado; percorrer uma faixa custa
+ * O(log n + k), sem reordenar o catálogo a cada consulta.
+ * As inclusões não são sincronizadas; as consultas podem ser feitas por várias threads depois da carga.
+ */
+public class IndiceAlfabetico implements Iterable<Produto> {
+
+	/** Quantidade máxima de níveis; com promoção de 1/4, suficiente para bem mais de 2^31 produtos */
+	private static final int MAXIMO_NIVEIS = 16;
+
+	private final No primeiro; // Nó sentinela, presente em todos os níveis
+	private int niveis;        // Quantidade de níveis em uso
+	private int tamanho;
+
+	private final No[] anteriores = new No[MAXIMO_NIVEIS]; // Reaproveitado a cada inclusão
+	private No[] ultimosPorNivel; // Último nó de cada nível, usado apenas por anexar
+
+	/** Cria um índice vazio */
+	public IndiceAlfabetico() {
+		this.primeiro = new No(null, MAXIMO_NIVEIS);
+		this.niveis = 1;
+		this.tamanho = 0;
+	}
+
+	/**
+	 * Inclui um produto na posição correspondente à sua descrição.
+	 * @param produto Produto a ser indexado (não nulo).
+	 */
+	public void inserir(Produto produto) {
+		No aux = this.primeiro;
+		for (int nivel = this.niveis - 1; nivel >= 0; nivel--) {
+			while (aux.proximos[nivel] != null && comparar(aux.proximos[nivel].produto, produto) < 0) {
+				aux = aux.proximos[nivel];
+			}
+			anteriores[nivel] = aux;
+		}
+
+		int nivelNovo = sortearNivel();
+		for (int nivel = this.niveis; nivel < nivelNovo; nivel++) {
+			anteriores[nivel] = this.primeiro;
+		}
+		this.niveis = Math.max(this.niveis, nivelNovo);
+
+		No novo = new No(produto, nivelNovo);
+		for (int nivel = 0; nivel < nivelNovo; nivel++) {
+			novo.proximos[nivel] = anteriores[nivel].proximos[nivel];
+			anteriores[nivel].proximos[nivel] = novo;
+		}
+		this.tamanho++;
+		this.ultimosPorNivel = null; // O fim de algum nível pode ter mudado
+	}
+
+	/**
+	 * Inclui no fim do índice um produto que não vem antes de nenhum outro já incluído, em tempo O(1) esperado.
+	 * Usado para montar o índice a partir de produtos já em ordem alfabética, sem percorrer a skip list.
+	 * @param produto Produto a ser indexado (não nulo), posterior ou igual ao último na ordem do índice.
+	 * @throws IllegalArgumentException se o produto vier antes do último produto do índice.
+	 */
+	public void anexar(Produto produto) {
+		if (ultimosPorNivel == null) {
+			// Primeiro anexo, ou houve inclusões por inserir desde o último: localiza o fim de cada nível
+			ultimosPorNivel = new No[MAXIMO_NIVEIS];
+			No aux = this.primeiro;
+			for (int nivel = MAXIMO_NIVEIS - 1; nivel >= 0; nivel--) {
+				while (nivel < this.niveis && aux.proximos[nivel] != null) {
+					aux = aux.proximos[nivel];
+				}
+				ultimosPorNivel[nivel] = aux;
+			}
+		}
+		No ultimo = ultimosPorNivel[0];
+		if (ultimo != this.primeiro && comparar(ultimo.produto, produto) > 0)
+			throw new IllegalArgumentException("O produto '" + produto.descricao + "' não pode ser anexado depois de '"
+					+ ultimo.produto.descricao + "'!");
+
+		int nivelNovo = sortearNivel();
+		this.niveis = Math.max(this.niveis, nivelNovo);
+		No novo = new No(produto, nivelNovo);
+		for (int nivel = 0; nivel < nivelNovo; nivel++) {
+			ultimosPorNivel[nivel].proximos[nivel] = novo;
+			ultimosPorNivel[nivel] = novo;
+		}
+		this.tamanho++;
+	}
+
+	/** Ordem do índice: a de Produto.compareTo, desempatada pelo código do produto. */
+	private static int comparar(Produto a, Produto b) {
+		int comparacao = a.compareTo(b);
+		return (comparacao != 0) ? comparacao : Integer.compare(a.hashCode(), b.hashCode());
+	}
+
+	/** Sorteia o nível de um novo nó: cada nível acima do primeiro com probabilidade 1/4. */
+	private static int sortearNivel() {
+		int sorteio = ThreadLocalRandom.current().nextInt();
+		return Math.min(1 + Integer.numberOfTrailingZeros(sorteio) / 2, MAXIMO_NIVEIS);
+	}
+
+	/**
+	 * Retorna o último nó cuja descrição é menor que a indicada (ou menor ou igual, se 'inclusive'),
+	 * ou a sentinela se não houver.
+	 */
+	private No ultimoAntesDe(String descricao, boolean inclusive) {
+		No aux = this.primeiro;
+		for (int nivel = this.niveis - 1; nivel >= 0; nivel--) {
+			while (aux.proximos[nivel] != null) {
+				int comparacao = aux.proximos[nivel].produto.descricao.compareTo(descricao);
+				if (comparacao > 0 || (comparacao == 0 && !inclusive)) {
+					break;
+				}
+				aux = aux.proximos[nivel];
+			}
+		}
+		return aux;
+	}
+
+	/**
+	 * Retorna o primeiro produto, em ordem alfabética, cuja descrição é maior ou igual à indicada.
+	 * @param descricao Descrição de referência.
+	 * @return O produto encontrado ou null, caso todos venham antes da descrição.
+	 */
+	public Produto teto(String descricao) {
+		No no = ultimoAntesDe(descricao, false).proximos[0];
+		return (no == null) ? null : no.produto;
+	}
+
+	/**
+	 * Retorna o último produto, em ordem alfabética, cuja descrição é menor ou igual à indicada.
+	 * @param descricao Descrição de referência.
+	 * @return O produto encontrado ou null, caso todos venham depois da descrição.
+	 */
+	public Produto piso(String descricao) {
+		No no = ultimoAntesDe(descricao, true);
+		return (no == this.primeiro) ? null : no.produto;
+	}
+
+	/**
+	 * Percorre, em ordem alfabética, os produtos a partir da descrição indicada (inclusive), até o fim do índice.
+	 * O percurso pode ser guardado e retomado, por exemplo para paginar a listagem.
+	 * @param descricao Descrição de referência; vazia para começar do primeiro produto.
+	 * @return Percurso posicionado no primeiro produto com descrição maior ou igual à indicada.
+	 */
+	public Percurso aPartirDe(String descricao) {
+		return new Percurso(ultimoAntesDe(descricao, false).proximos[0], null);
+	}
+
+	/**
+	 * Percorre, em ordem alfabética, os produtos cuja descrição está na faixa [de, ate): inclui 'de' e exclui 'ate'.
+	 * Assim, entre("A", "D") traz todas as descrições que começam com A, B ou C.
+	 * @param de Início da faixa (inclusive).
+	 * @param ate Fim da faixa (exclusive).
+	 * @return Percurso sobre os produtos da faixa.
+	 * @throws IllegalArgumentException se o início da faixa vier depois do fim.
+	 */
+	public Percurso entre(String de, String ate) {
+		if (de.compareTo(ate) > 0)
+			throw new IllegalArgumentException("Faixa inválida: '" + de + "' vem depois de '" + ate + "'!");
+		return new Percurso(ultimoAntesDe(de, false).proximos[0], ate);
+	}
+
+	/**
+	 * Percorre todos os produtos em ordem alfabética.
+	 * @return Percurso posicionado no primeiro produto.
+	 */
+	@Override
+	public Iterator<Produto> iterator() {
+		return new Percurso(this.primeiro.proximos[0], null);
+	}
+
+	/**
+	 * Retorna a quantidade de produtos no índice.
+	 * @return Inteiro não negativo com a quantidade de produtos.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Percurso em ordem alfabética pelo nível 0 da skip list, opcionalmente limitado por uma descrição final (exclusive).
+	 */
+	public static class Percurso implements Iterator<Produto> {
+
+		private No atual;
+		private final String limite;
+
+		private Percurso(No inicio, String limite) {
+			this.atual = inicio;
+			this.limite = limite;
+		}
+
+		/**
+		 * Indica se ainda há produtos a percorrer.
+		 * @return TRUE se houver um próximo produto.
+		 */
+		@Override
+		public boolean hasNext() {
+			return atual != null && (limite == null || atual.produto.descricao.compareTo(limite) < 0);
+		}
+
+		/**
+		 * Avança o percurso e retorna o próximo produto.
+		 * @return O próximo produto, em ordem alfabética.
+		 * @throws NoSuchElementException se não houver mais produtos no percurso.
+		 */
+		@Override
+		public Produto next() {
+			if (!hasNext())
+				throw new NoSuchElementException("Não há mais produtos a percorrer!");
+			Produto produto = atual.produto;
+			atual = atual.proximos[0];
+			return produto;
+		}
+	}
+
+	/** Nó da skip list: o produto e o próximo nó em cada nível em que ele aparece. */
+	private static final class No {
+
+		private final Produto produto;
+		private final No[] proximos;
+
+		private No(Produto produto, int niveis) {
+			this.produto = produto;
+			this.proximos = new No[niveis];
+		}
+	}
+}
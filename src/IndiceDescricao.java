@@ -0,0 +1,136 @@
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Índice de produtos por descrição, sem distinção entre maiúsculas e minúsculas.
+ * A busca exata usa uma tabela hash sobre a descrição normalizada; a busca por prefixo
+ * usa um vetor ordenado dessas chaves, reconstruído apenas quando houve inclusões desde a última ordenação.
+ * As inclusões não são sincronizadas; as consultas podem ser feitas por várias threads depois da carga.
+ */
+public class IndiceDescricao {
+
+	private final HashMap<String, Produto> porChave;
+	private final Lista<Produto> produtos;
+
+	private String[] chavesOrdenadas = new String[0];
+	private Produto[] produtosOrdenados = new Produto[0];
+	private boolean ordenado = true;
+
+	/**
+	 * Cria um índice vazio sobre a lista de produtos indicada.
+	 * @param produtos Lista que recebe os mesmos produtos incluídos no índice, na ordem de inclusão.
+	 * @param capacidadeEsperada Quantidade de produtos prevista.
+	 */
+	public IndiceDescricao(Lista<Produto> produtos, int capacidadeEsperada) {
+		this.porChave = new HashMap<>((int) (capacidadeEsperada / 0.75f) + 1);
+		this.produtos = produtos;
+	}
+
+	/**
+	 * Normaliza uma descrição para comparação sem distinção entre maiúsculas e minúsculas,
+	 * com a mesma regra de String.equalsIgnoreCase.
+	 * @param descricao Descrição a normalizar.
+	 * @return A descrição sem espaços nas pontas e com as letras normalizadas.
+	 */
+	public static String normalizar(String descricao) {
+		String aparada = descricao.trim();
+		char[] letras = new char[aparada.length()];
+		for (int i = 0; i < letras.length; i++) {
+			char letra = aparada.charAt(i);
+			if (letra < 0x80) {
+				// ASCII: basta trocar as maiúsculas, sem consultar as tabelas Unicode
+				letras[i] = (letra >= 'A' && letra <= 'Z') ? (char) (letra + ('a' - 'A')) : letra;
+			} else {
+				letras[i] = Character.toLowerCase(Character.toUpperCase(letra));
+			}
+		}
+		return new String(letras);
+	}
+
+	/**
+	 * Inclui no índice um produto que acabou de ser inserido na lista. Se já houver outro com a mesma
+	 * descrição, a busca exata continua retornando o primeiro incluído, como na busca linear pela lista.
+	 * @param produto Produto a ser indexado.
+	 */
+	public synchronized void inserir(Produto produto) {
+		porChave.putIfAbsent(normalizar(produto.descricao), produto);
+		ordenado = false;
+	}
+
+	/**
+	 * Localiza o produto com a descrição indicada, ignorando maiúsculas e minúsculas.
+	 * @param descricao Descrição procurada.
+	 * @return O produto encontrado ou null, caso não haja.
+	 */
+	public Produto localizar(String descricao) {
+		return porChave.get(normalizar(descricao));
+	}
+
+	/**
+	 * Retorna, em ordem alfabética da descrição normalizada, os produtos cuja descrição começa com o prefixo indicado.
+	 * @param prefixo Início da descrição, sem distinção entre maiúsculas e minúsculas.
+	 * @param limite Quantidade máxima de produtos a retornar.
+	 * @return Lista com até 'limite' produtos (vazia se nenhum atender ao prefixo).
+	 */
+	public Lista<Produto> comecandoCom(String prefixo, int limite) {
+		Lista<Produto> encontrados = new Lista<>();
+		String chave = normalizar(prefixo);
+		String[] chaves;
+		Produto[] ordenados;
+
+		synchronized (this) {
+			if (!ordenado) {
+				ordenar();
+			}
+			chaves = chavesOrdenadas;
+			ordenados = produtosOrdenados;
+		}
+
+		int i = Arrays.binarySearch(chaves, chave);
+		if (i < 0) {
+			i = -(i + 1);
+		} else {
+			while (i > 0 && chaves[i - 1].equals(chave)) {
+				i--;
+			}
+		}
+		while (i < chaves.length && encontrados.tamanho() < limite && chaves[i].startsWith(chave)) {
+			encontrados.inserir(ordenados[i]);
+			i++;
+		}
+		return encontrados;
+	}
+
+	private void ordenar() {
+		Entrada[] entradas = new Entrada[produtos.tamanho()];
+		int i = 0;
+		for (Produto produto : produtos) {
+			entradas[i++] = new Entrada(normalizar(produto.descricao), produto);
+		}
+		Arrays.sort(entradas);
+
+		chavesOrdenadas = new String[entradas.length];
+		produtosOrdenados = new Produto[entradas.length];
+		for (i = 0; i < entradas.length; i++) {
+			chavesOrdenadas[i] = entradas[i].chave;
+			produtosOrdenados[i] = entradas[i].produto;
+		}
+		ordenado = true;
+	}
+
+	private static final class Entrada implements Comparable<Entrada> {
+
+		private final String chave;
+		private final Produto produto;
+
+		private Entrada(String chave, Produto produto) {
+			this.chave = chave;
+			this.produto = produto;
+		}
+
+		@Override
+		public int compareTo(Entrada outra) {
+			return chave.compareTo(outra.chave);
+		}
+	}
+}
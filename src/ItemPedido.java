@@ -0,0 +1,51 @@
+/**
+ * Item de um pedido: um produto e a quantidade de unidades dele no pedido, com o subtotal
+ * calculado pelo valor de venda no momento de cada inclusão.
+ */
+public class ItemPedido {
+
+	private final Produto produto;
+	private int quantidade;
+	private double subtotal;
+
+	ItemPedido(Produto produto) {
+		this.produto = produto;
+	}
+
+	/**
+	 * Acrescenta unidades do produto ao item.
+	 * @param unidades Quantidade de unidades acrescentadas (maior que zero).
+	 * @param valorUnitario Valor de venda de cada unidade.
+	 */
+	void acrescentar(int unidades, double valorUnitario) {
+		quantidade += unidades;
+		subtotal += unidades * valorUnitario;
+	}
+
+	/**
+	 * Acrescenta unidades com o subtotal já calculado, como gravado no diário de pedidos.
+	 * @param unidades Quantidade de unidades acrescentadas (maior que zero).
+	 * @param subtotalGravado Valor total dessas unidades no momento em que foram incluídas.
+	 */
+	void restaurar(int unidades, double subtotalGravado) {
+		quantidade += unidades;
+		subtotal += subtotalGravado;
+	}
+
+	public Produto getProduto() {
+		return produto;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public double getSubtotal() {
+		return subtotal;
+	}
+
+	@Override
+	public String toString() {
+		return quantidade + " x " + produto.toString();
+	}
+}
@@ -1,17 +1,43 @@
 // Conteúdo para src/Lista.java
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class Lista<E>{
+public class Lista<E> implements Iterable<E> {
 
-	private Celula<E> primeiro; // Célula sentinela
-	private Celula<E> ultimo;   // Última célula real da lista
+	/** Células visitadas por consulta posicional, busca, contagem ou soma, em todas as listas do processo */
+	private static final Metricas.Histograma CELULAS_PERCORRIDAS = Metricas.histograma("lista.celulasPorVarredura", "células");
+
+	private CelulaDupla<E> primeiro; // Célula sentinela
+	private CelulaDupla<E> ultimo;   // Última célula real da lista
 	private int tamanho;
+	private int modificacoes;   // Contador de alterações estruturais (iteradores fail-fast)
+
+	// Trechos contíguos usados pelas operações paralelas: a primeira célula e a quantidade de elementos de cada um.
+	// São atualizados a cada inserção e remoção, de modo que somarParalelo e contarRepeticoesParalelo possam
+	// dividir o trabalho sem percorrer a lista antes. Só existem a partir de TAMANHO_TRECHO elementos.
+	// As primeiras células são guardadas em referências fracas (elas já são mantidas vivas pela própria lista):
+	// com referências comuns, o coletor de lixo copia as células a partir de cada início de trecho ao mesmo tempo
+	// e as intercala na memória, o que torna mais lenta qualquer varredura da lista.
+	private WeakReference<CelulaDupla<E>>[] iniciosTrechos;
+	private int[] tamanhosTrechos;
+	private int quantidadeTrechos;
 
     /** Cria uma lista vazia com elemento sentinela */
 	public Lista() {
-		Celula<E> sentinela = new Celula<>(); // Cria a célula sentinela
+		CelulaDupla<E> sentinela = new CelulaDupla<>(); // Cria a célula sentinela
 		this.primeiro = sentinela; // 'primeiro' sempre aponta para a sentinela
 		this.ultimo = sentinela;   // No início, 'ultimo' também aponta para a sentinela
 		this.tamanho = 0;
@@ -43,33 +69,33 @@ public class Lista<E>{
      * @throws IndexOutOfBoundsException em caso de posição inválida
      */
 	public void inserir(E novo, int posicao) {
-		Celula<E> anterior, novaCelula, proximaCelula;
+		CelulaDupla<E> anterior, novaCelula, proximaCelula;
 
 		// Valida a posição
 		if ((posicao < 0) || (posicao > this.tamanho))
 			throw new IndexOutOfBoundsException("Não foi possível inserir o item na lista: "
 					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
 
-		// Encontra a célula ANTERIOR à posição de inserção
-		anterior = this.primeiro; // Começa da sentinela
-		for (int i = 0; i < posicao; i++) {
-			anterior = anterior.getProximo();
-        }
+		// Encontra a célula ANTERIOR à posição de inserção (a sentinela, se posicao == 0)
+		anterior = celulaNaPosicao(posicao - 1);
 
 		// Cria a nova célula com o item
-		novaCelula = new Celula<>(novo);
+		novaCelula = new CelulaDupla<>(novo);
 
-		// Conecta a nova célula na lista
+		// Conecta a nova célula na lista, nos dois sentidos
 		proximaCelula = anterior.getProximo(); // Guarda a referência para a célula seguinte
-		anterior.setProximo(novaCelula);      // 'anterior' agora aponta para 'novaCelula'
+		novaCelula.setAnterior(anterior);
 		novaCelula.setProximo(proximaCelula); // 'novaCelula' aponta para a 'proximaCelula'
-
-		// Atualiza 'ultimo' se a inserção foi no final
-		if (posicao == this.tamanho) {
-			this.ultimo = novaCelula;
-        }
+		anterior.setProximo(novaCelula);      // 'anterior' agora aponta para 'novaCelula'
+		if (proximaCelula != null) {
+			proximaCelula.setAnterior(novaCelula);
+		} else {
+			this.ultimo = novaCelula; // Inserção no final
+		}
+		registrarInsercaoNosTrechos(novaCelula, posicao);
 
 		this.tamanho++; // Incrementa o tamanho
+		this.modificacoes++;
 	}
 
     /**
@@ -95,7 +121,7 @@ public class Lista<E>{
       * @throws IndexOutOfBoundsException em caso de posição inválida.
       */
 	public E remover(int posicao) {
-		Celula<E> anterior, celulaRemovida, proximaCelula;
+		CelulaDupla<E> anterior, celulaRemovida, proximaCelula;
 
 		// Verifica se está vazia
 		if (vazia())
@@ -107,30 +133,51 @@ public class Lista<E>{
 			throw new IndexOutOfBoundsException("Não foi possível remover o item da lista: "
 					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
 
-		// Encontra a célula ANTERIOR à que será removida
-		anterior = this.primeiro; // Começa da sentinela
-		for (int i = 0; i < posicao; i++) {
-			anterior = anterior.getProximo();
-        }
-
-		// Identifica a célula a ser removida e a próxima
-		celulaRemovida = anterior.getProximo();
+		// Encontra a célula a ser removida (a última é alcançada diretamente) e suas vizinhas
+		celulaRemovida = celulaNaPosicao(posicao);
+		anterior = celulaRemovida.getAnterior();
 		proximaCelula = celulaRemovida.getProximo();
+		registrarRemocaoNosTrechos(celulaRemovida, posicao);
 
-		// Remove a célula da lista, ligando a anterior à próxima
+		// Remove a célula da lista, ligando a anterior à próxima nos dois sentidos
 		anterior.setProximo(proximaCelula);
+		if (proximaCelula != null) {
+			proximaCelula.setAnterior(anterior);
+		} else {
+			this.ultimo = anterior; // A célula removida era a última
+		}
 		celulaRemovida.setProximo(null); // Desconecta a célula removida (ajuda GC)
-
-		// Atualiza 'ultimo' se a célula removida era a última
-		if (celulaRemovida == this.ultimo) {
-			this.ultimo = anterior;
-        }
+		celulaRemovida.setAnterior(null);
 
 		this.tamanho--; // Decrementa o tamanho
+		this.modificacoes++;
 
 		return (celulaRemovida.getItem()); // Retorna o item da célula removida
 	}
 
+    /**
+     * Retorna a célula da posição indicada, percorrendo a lista a partir da ponta mais próxima.
+     * A posição -1 corresponde à sentinela. Não valida a posição.
+     * @param posicao Posição da célula (-1 <= posicao < tamanho).
+     * @return A célula da posição indicada.
+     */
+    private CelulaDupla<E> celulaNaPosicao(int posicao) {
+		CelulaDupla<E> aux;
+
+		if (posicao < this.tamanho / 2) {
+			aux = this.primeiro; // Começa da sentinela, que está na posição -1
+			for (int i = -1; i < posicao; i++) {
+				aux = aux.getProximo();
+			}
+		} else {
+			aux = this.ultimo; // Começa da última célula, na posição tamanho-1
+			for (int i = this.tamanho - 1; i > posicao; i--) {
+				aux = aux.getAnterior();
+			}
+		}
+		return aux;
+	}
+
     /**
      * Retorna, sem retirar, um elemento na posição indicada pelo parâmetro. A posição 0
      * é o primeiro elemento real (após a sentinela) e a última é (tamanho-1).
@@ -141,7 +188,7 @@ public class Lista<E>{
      * @throws IndexOutOfBoundsException em caso de posição inválida.
      */
     public E elementoNaPosicao(int posicao) {
-		Celula<E> aux;
+		CelulaDupla<E> aux;
 
 		// Verifica se está vazia
 		if (vazia())
@@ -153,11 +200,9 @@ public class Lista<E>{
 			throw new IndexOutOfBoundsException("Não foi possível consultar o item da lista: "
 					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
 
-		// Navega até a célula na posição desejada
-		aux = primeiro.getProximo(); // Começa do primeiro elemento real
-		for (int i = 0; i < posicao; i++) {
-			aux = aux.getProximo();
-        }
+		// Navega até a célula na posição desejada, a partir da ponta mais próxima
+		aux = celulaNaPosicao(posicao);
+		CELULAS_PERCORRIDAS.registrar((posicao < this.tamanho / 2) ? posicao + 1 : this.tamanho - 1 - posicao);
 
 		return (aux.getItem()); // Retorna o item da célula encontrada
 	}
@@ -170,7 +215,7 @@ public class Lista<E>{
      * @throws IllegalStateException se a lista estiver vazia (opcional, pode retornar null direto).
      */
     public E localizar(Predicate<E> condicional) {
-		Celula<E> aux;
+		CelulaDupla<E> aux;
 
 		if (vazia()) {
              // Pode lançar exceção ou simplesmente retornar null se a lista vazia não deve ser um erro aqui.
@@ -181,13 +226,17 @@ public class Lista<E>{
 
         // Percorre a lista a partir do primeiro elemento real
         aux = primeiro.getProximo();
+        int percorridas = 0;
         while (aux != null) {
+            percorridas++;
             // Testa a condição para o item da célula atual
             if(condicional.test(aux.getItem())) {
+                CELULAS_PERCORRIDAS.registrar(percorridas);
                 return aux.getItem(); // Retorna o item se a condição for atendida
             }
             aux = aux.getProximo(); // Vai para a próxima célula
         }
+        CELULAS_PERCORRIDAS.registrar(percorridas);
         return null; // Retorna null se não encontrou nenhum item que atenda à condição
 	}
 
@@ -198,7 +247,7 @@ public class Lista<E>{
      */
     public int contarRepeticoes(Predicate<E> condicional){
         int contador = 0;
-        Celula<E> aux = this.primeiro.getProximo(); // Começa do primeiro elemento real após o sentinela
+        CelulaDupla<E> aux = this.primeiro.getProximo(); // Começa do primeiro elemento real após o sentinela
 
         // Percorre a lista
         while (aux != null) {
@@ -208,6 +257,7 @@ public class Lista<E>{
             }
             aux = aux.getProximo(); // Vai para a próxima célula
         }
+        CELULAS_PERCORRIDAS.registrar(this.tamanho);
         return contador; // Retorna a contagem final
 	}
 
@@ -218,18 +268,402 @@ public class Lista<E>{
 	 * @return O valor total (soma) dos atributos extraídos. Retorna 0.0 se a lista estiver vazia.
 	 */
 	public double calcularValorTotal(Function<E, Double> extrator) {
-		double soma = 0.0;
-		Celula<E> aux = primeiro.getProximo(); // Começa do primeiro elemento real
-
-		// Percorre a lista
-		while (aux != null) {
-            // Extrai o valor do item atual usando a função 'extrator' e soma ao total
-			soma += extrator.apply(aux.getItem());
-			aux = aux.getProximo(); // Vai para a próxima célula
+		// Delega para a soma compensada; o Double retornado pelo extrator é convertido uma única vez por elemento
+		return somar(elemento -> extrator.apply(elemento));
+	}
+
+	/**
+	 * Soma um valor numérico extraído de cada elemento, sem boxing, usando soma compensada (Kahan-Neumaier)
+	 * para reduzir o erro de arredondamento acumulado em listas longas.
+	 * @param extrator Função que recebe um elemento e retorna seu valor como double primitivo.
+	 * @return A soma dos valores extraídos (0.0 se a lista estiver vazia).
+	 */
+	public double somar(ToDoubleFunction<? super E> extrator) {
+		SomaCompensada soma = new SomaCompensada();
+		soma.somarTrecho(primeiro.getProximo(), tamanho, extrator);
+		CELULAS_PERCORRIDAS.registrar(tamanho);
+		return soma.total();
+	}
+
+	/**
+	 * Versão paralela de somar: soma os trechos da lista no pool fork-join comum.
+	 * A lista não pode ser alterada durante a soma, e o extrator deve poder ser chamado por várias threads.
+	 * @param extrator Função que recebe um elemento e retorna seu valor como double primitivo.
+	 * @return A soma dos valores extraídos (0.0 se a lista estiver vazia).
+	 */
+	public double somarParalelo(ToDoubleFunction<? super E> extrator) {
+		if (quantidadeTrechos <= 1) {
+			return somar(extrator);
+		}
+		return ForkJoinPool.commonPool().invoke(new SomaDeTrechos<>(iniciosTrechos, tamanhosTrechos, 0, quantidadeTrechos,
+				trechosPorTarefa(), extrator)).total();
+	}
+
+	/**
+	 * Versão paralela de contarRepeticoes: conta os trechos da lista no pool fork-join comum.
+	 * A lista não pode ser alterada durante a contagem, e o predicado deve poder ser chamado por várias threads.
+	 * @param condicional Predicado com a condição para verificação de elementos na lista.
+	 * @return Inteiro com a quantidade de elementos que atendem ao predicado (0 se a lista for vazia).
+	 */
+	public int contarRepeticoesParalelo(Predicate<? super E> condicional) {
+		if (quantidadeTrechos <= 1) {
+			return contarTrecho(primeiro.getProximo(), tamanho, condicional);
+		}
+		return ForkJoinPool.commonPool().invoke(new ContagemDeTrechos<>(iniciosTrechos, tamanhosTrechos, 0, quantidadeTrechos,
+				trechosPorTarefa(), condicional));
+	}
+
+	/** Tamanho de um trecho completo: as inserções no final abrem um novo trecho quando o último chega a esse tamanho */
+	private static final int TAMANHO_TRECHO = 4096;
+
+	/** Quantos trechos cada tarefa fork-join processa, para gerar cerca de 4 tarefas por thread do pool */
+	private int trechosPorTarefa() {
+		return Math.max(1, quantidadeTrechos / (ForkJoinPool.getCommonPoolParallelism() * 4));
+	}
+
+	/**
+	 * Inclui nos trechos a célula recém-inserida na posição indicada (chamado antes de atualizar o tamanho).
+	 * Uma inserção no final vai para o último trecho, ou abre um novo se ele estiver completo; nas demais
+	 * posições, a célula entra no trecho da célula anterior, que é dividido ao meio se passar de 2*TAMANHO_TRECHO.
+	 */
+	private void registrarInsercaoNosTrechos(CelulaDupla<E> novaCelula, int posicao) {
+		if (tamanhosTrechos == null) {
+			if (tamanho < TAMANHO_TRECHO) {
+				return;
+			}
+			// A lista atingiu o tamanho de um trecho: os elementos anteriores à inserção formam o primeiro
+			abrirTrecho(0, (posicao == 0) ? novaCelula.getProximo() : primeiro.getProximo(), tamanho);
+		}
+		if (quantidadeTrechos == 0 || (posicao == tamanho && tamanhosTrechos[quantidadeTrechos - 1] >= TAMANHO_TRECHO)) {
+			abrirTrecho(quantidadeTrechos, novaCelula, 1);
+			return;
+		}
+		int trecho;
+		if (posicao == 0) {
+			trecho = 0;
+			iniciosTrechos[0] = new WeakReference<>(novaCelula);
+		} else {
+			trecho = trechoDaPosicao(posicao - 1);
+		}
+		tamanhosTrechos[trecho]++;
+		if (tamanhosTrechos[trecho] > 2 * TAMANHO_TRECHO) {
+			int metade = tamanhosTrechos[trecho] / 2;
+			CelulaDupla<E> aux = iniciosTrechos[trecho].get();
+			for (int i = 0; i < metade; i++) {
+				aux = aux.getProximo();
+			}
+			abrirTrecho(trecho + 1, aux, tamanhosTrechos[trecho] - metade);
+			tamanhosTrechos[trecho] = metade;
+		}
+	}
+
+	/**
+	 * Retira dos trechos a célula que será removida da posição indicada (chamado antes de desligá-la da lista).
+	 * Um trecho que fica vazio é descartado, e um que fica com menos de um quarto de TAMANHO_TRECHO é juntado ao vizinho.
+	 */
+	private void registrarRemocaoNosTrechos(CelulaDupla<E> celulaRemovida, int posicao) {
+		if (tamanhosTrechos == null) {
+			return;
+		}
+		int trecho = trechoDaPosicao(posicao);
+		tamanhosTrechos[trecho]--;
+		if (tamanhosTrechos[trecho] == 0) {
+			fecharTrecho(trecho);
+			return;
+		}
+		if (iniciosTrechos[trecho].get() == celulaRemovida) {
+			iniciosTrechos[trecho] = new WeakReference<>(celulaRemovida.getProximo());
+		}
+		if (tamanhosTrechos[trecho] < TAMANHO_TRECHO / 4 && quantidadeTrechos > 1) {
+			int absorvido = (trecho > 0) ? trecho : 1;
+			tamanhosTrechos[absorvido - 1] += tamanhosTrechos[absorvido];
+			fecharTrecho(absorvido);
 		}
-		return soma; // Retorna a soma total (será 0.0 se a lista estava vazia)
 	}
 
+	/** Índice do trecho que contém a posição, somando os tamanhos a partir da ponta mais próxima. */
+	private int trechoDaPosicao(int posicao) {
+		if (posicao < tamanho / 2) {
+			int fim = 0;
+			for (int i = 0; i < quantidadeTrechos - 1; i++) {
+				fim += tamanhosTrechos[i];
+				if (posicao < fim) {
+					return i;
+				}
+			}
+			return quantidadeTrechos - 1;
+		}
+		int inicio = tamanho;
+		for (int i = quantidadeTrechos - 1; i > 0; i--) {
+			inicio -= tamanhosTrechos[i];
+			if (posicao >= inicio) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void abrirTrecho(int indice, CelulaDupla<E> inicio, int quantidade) {
+		if (iniciosTrechos == null) {
+			iniciosTrechos = (WeakReference<CelulaDupla<E>>[]) new WeakReference<?>[4];
+			tamanhosTrechos = new int[4];
+		} else if (quantidadeTrechos == iniciosTrechos.length) {
+			iniciosTrechos = Arrays.copyOf(iniciosTrechos, quantidadeTrechos * 2);
+			tamanhosTrechos = Arrays.copyOf(tamanhosTrechos, quantidadeTrechos * 2);
+		}
+		System.arraycopy(iniciosTrechos, indice, iniciosTrechos, indice + 1, quantidadeTrechos - indice);
+		System.arraycopy(tamanhosTrechos, indice, tamanhosTrechos, indice + 1, quantidadeTrechos - indice);
+		iniciosTrechos[indice] = new WeakReference<>(inicio);
+		tamanhosTrechos[indice] = quantidade;
+		quantidadeTrechos++;
+	}
+
+	private void fecharTrecho(int indice) {
+		System.arraycopy(iniciosTrechos, indice + 1, iniciosTrechos, indice, quantidadeTrechos - indice - 1);
+		System.arraycopy(tamanhosTrechos, indice + 1, tamanhosTrechos, indice, quantidadeTrechos - indice - 1);
+		quantidadeTrechos--;
+		iniciosTrechos[quantidadeTrechos] = null;
+	}
+
+	/** Quantidade de elementos dos trechos [de, ate), que são contíguos na lista. */
+	private static int elementosDosTrechos(int[] tamanhos, int de, int ate) {
+		int quantidade = 0;
+		for (int i = de; i < ate; i++) {
+			quantidade += tamanhos[i];
+		}
+		return quantidade;
+	}
+
+	private static <E> int contarTrecho(CelulaDupla<E> inicio, int quantidade, Predicate<? super E> condicional) {
+		int contador = 0;
+		CelulaDupla<E> aux = inicio;
+		for (int i = 0; i < quantidade; i++) {
+			if (condicional.test(aux.getItem())) {
+				contador++;
+			}
+			aux = aux.getProximo();
+		}
+		return contador;
+	}
+
+	/** Soma compensada de Kahan-Neumaier: guarda, além da soma, o erro de arredondamento acumulado. Usada também por ListaIndexada. */
+	static final class SomaCompensada {
+
+		private double soma;
+		private double compensacao;
+
+		void adicionar(double valor) {
+			double t = soma + valor;
+			if (Math.abs(soma) >= Math.abs(valor)) {
+				compensacao += (soma - t) + valor;
+			} else {
+				compensacao += (valor - t) + soma;
+			}
+			soma = t;
+		}
+
+		private <E> void somarTrecho(CelulaDupla<E> inicio, int quantidade, ToDoubleFunction<? super E> extrator) {
+			CelulaDupla<E> aux = inicio;
+			for (int i = 0; i < quantidade; i++) {
+				adicionar(extrator.applyAsDouble(aux.getItem()));
+				aux = aux.getProximo();
+			}
+		}
+
+		private SomaCompensada juntar(SomaCompensada outra) {
+			adicionar(outra.soma);
+			compensacao += outra.compensacao;
+			return this;
+		}
+
+		double total() {
+			return soma + compensacao;
+		}
+	}
+
+	/** Tarefa fork-join que soma os trechos [de, ate), dividindo o intervalo ao meio até restarem no máximo trechosPorTarefa trechos. */
+	private static final class SomaDeTrechos<E> extends RecursiveTask<SomaCompensada> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient WeakReference<CelulaDupla<E>>[] inicios;
+		private final int[] tamanhos;
+		private final int de;
+		private final int ate;
+		private final int trechosPorTarefa;
+		private final transient ToDoubleFunction<? super E> extrator;
+
+		private SomaDeTrechos(WeakReference<CelulaDupla<E>>[] inicios, int[] tamanhos, int de, int ate, int trechosPorTarefa,
+				ToDoubleFunction<? super E> extrator) {
+			this.inicios = inicios;
+			this.tamanhos = tamanhos;
+			this.de = de;
+			this.ate = ate;
+			this.trechosPorTarefa = trechosPorTarefa;
+			this.extrator = extrator;
+		}
+
+		@Override
+		protected SomaCompensada compute() {
+			if (ate - de <= trechosPorTarefa) {
+				SomaCompensada soma = new SomaCompensada();
+				soma.somarTrecho(inicios[de].get(), elementosDosTrechos(tamanhos, de, ate), extrator);
+				return soma;
+			}
+			int meio = (de + ate) >>> 1;
+			SomaDeTrechos<E> direita = new SomaDeTrechos<>(inicios, tamanhos, meio, ate, trechosPorTarefa, extrator);
+			direita.fork();
+			SomaCompensada esquerda = new SomaDeTrechos<>(inicios, tamanhos, de, meio, trechosPorTarefa, extrator).compute();
+			return esquerda.juntar(direita.join());
+		}
+	}
+
+	/** Tarefa fork-join que conta os elementos dos trechos [de, ate) que atendem ao predicado. */
+	private static final class ContagemDeTrechos<E> extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient WeakReference<CelulaDupla<E>>[] inicios;
+		private final int[] tamanhos;
+		private final int de;
+		private final int ate;
+		private final int trechosPorTarefa;
+		private final transient Predicate<? super E> condicional;
+
+		private ContagemDeTrechos(WeakReference<CelulaDupla<E>>[] inicios, int[] tamanhos, int de, int ate, int trechosPorTarefa,
+				Predicate<? super E> condicional) {
+			this.inicios = inicios;
+			this.tamanhos = tamanhos;
+			this.de = de;
+			this.ate = ate;
+			this.trechosPorTarefa = trechosPorTarefa;
+			this.condicional = condicional;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (ate - de <= trechosPorTarefa) {
+				return contarTrecho(inicios[de].get(), elementosDosTrechos(tamanhos, de, ate), condicional);
+			}
+			int meio = (de + ate) >>> 1;
+			ContagemDeTrechos<E> direita = new ContagemDeTrechos<>(inicios, tamanhos, meio, ate, trechosPorTarefa, condicional);
+			direita.fork();
+			int esquerda = new ContagemDeTrechos<>(inicios, tamanhos, de, meio, trechosPorTarefa, condicional).compute();
+			return esquerda + direita.join();
+		}
+	}
+
+    /**
+     * Retorna um iterador fail-fast sobre os elementos da lista, do primeiro ao último.
+     * @return Um cursor posicionado antes do primeiro elemento.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return cursor();
+    }
+
+    /**
+     * Cria um cursor posicionado antes do primeiro elemento da lista.
+     * @return Cursor que pode ser guardado e retomado sem percorrer a lista novamente.
+     */
+    public Cursor cursor() {
+        return new Cursor(primeiro, 0);
+    }
+
+    /**
+     * Cria um cursor cujo próximo elemento é o da posição indicada. Percorre a lista uma única vez
+     * até a posição, a partir da ponta mais próxima; a partir daí cada avanço é O(1).
+     * @param posicao Posição do próximo elemento a ser retornado (0 <= posicao <= tamanho).
+     * @return Cursor posicionado antes do elemento da posição indicada.
+     * @throws IndexOutOfBoundsException em caso de posição inválida.
+     */
+    public Cursor cursor(int posicao) {
+        CelulaDupla<E> anterior;
+
+        if ((posicao < 0) || (posicao > this.tamanho))
+            throw new IndexOutOfBoundsException("Não foi possível posicionar o cursor na lista: "
+                    + "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+        anterior = celulaNaPosicao(posicao - 1);
+        return new Cursor(anterior, posicao);
+    }
+
+    /**
+     * Spliterator ordenado e de tamanho conhecido sobre os elementos da lista.
+     * @return Spliterator com as características ORDERED e SIZED.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), tamanho, Spliterator.ORDERED);
+    }
+
+    /**
+     * Retorna um stream sequencial com os elementos da lista.
+     * @return Stream dos elementos, na ordem da lista.
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Cursor sobre a lista: guarda a célula anterior ao próximo elemento e sua posição, de modo que
+     * pode ser estacionado e retomado depois sem repetir a caminhada a partir da sentinela.
+     * Falha rapidamente (ConcurrentModificationException) se a lista for alterada estruturalmente
+     * por fora do cursor.
+     */
+    public class Cursor implements Iterator<E> {
+
+        private CelulaDupla<E> anterior;
+        private int posicao;
+        private int modificacoesEsperadas;
+
+        private Cursor(CelulaDupla<E> anterior, int posicao) {
+            this.anterior = anterior;
+            this.posicao = posicao;
+            this.modificacoesEsperadas = modificacoes;
+        }
+
+        /**
+         * Indica se ainda há elementos a percorrer.
+         * @return TRUE se houver um próximo elemento.
+         */
+        @Override
+        public boolean hasNext() {
+            verificarModificacoes();
+            return anterior.getProximo() != null;
+        }
+
+        /**
+         * Avança o cursor e retorna o próximo elemento.
+         * @return O próximo elemento da lista.
+         * @throws NoSuchElementException se o cursor já estiver no fim da lista.
+         */
+        @Override
+        public E next() {
+            verificarModificacoes();
+            CelulaDupla<E> atual = anterior.getProximo();
+            if (atual == null)
+                throw new NoSuchElementException("Não há mais itens a percorrer na lista!");
+            anterior = atual;
+            posicao++;
+            return atual.getItem();
+        }
+
+        /**
+         * Retorna a posição do próximo elemento que será retornado pelo cursor.
+         * @return Inteiro entre 0 e tamanho.
+         */
+        public int posicao() {
+            return posicao;
+        }
+
+        private void verificarModificacoes() {
+            if (modificacoes != modificacoesEsperadas)
+                throw new ConcurrentModificationException("A lista foi alterada durante a iteração!");
+        }
+    }
+
     /**
      * Retorna a quantidade atual de elementos na lista.
      * @return Inteiro não negativo com a quantidade atual de elementos na lista.
@@ -246,7 +680,7 @@ public class Lista<E>{
      */
     @Override
 	public String toString() {
-		Celula<E> aux;
+		CelulaDupla<E> aux;
 		StringBuilder listaString = new StringBuilder(); 
 
 	    if(vazia()){
@@ -0,0 +1,453 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lista com a mesma interface de Lista, implementada como uma lista desenrolada: cada bloco encadeado guarda
+ * um vetor de até CAPACIDADE_BLOCO itens. O custo de cabeçalho e ligações é dividido entre os itens do bloco
+ * e as varreduras (localizar, contarRepeticoes, toString) percorrem vetores contíguos.
+ * As operações por posição percorrem os blocos a partir da ponta mais próxima, saltando um bloco inteiro por vez.
+ */
+public class ListaDesenrolada<E> implements Iterable<E> {
+
+	/** Quantidade máxima de itens por bloco */
+	static final int CAPACIDADE_BLOCO = 64;
+
+	/** Abaixo desta quantidade, um bloco tenta se juntar ao seguinte após uma remoção */
+	private static final int MINIMO_BLOCO = CAPACIDADE_BLOCO / 4;
+
+	private Bloco primeiro;   // Primeiro bloco; sempre existe, mesmo com a lista vazia
+	private Bloco ultimo;     // Último bloco
+	private int tamanho;
+	private int modificacoes; // Contador de alterações estruturais (iteradores fail-fast)
+
+	// Resultado da última chamada a localizarBloco: o bloco e o índice da posição dentro dele
+	private Bloco blocoLocalizado;
+	private int indiceLocalizado;
+
+	/** Cria uma lista vazia, com um único bloco vazio */
+	public ListaDesenrolada() {
+		this.primeiro = new Bloco();
+		this.ultimo = this.primeiro;
+		this.tamanho = 0;
+	}
+
+	/**
+	 * Indica se a lista está vazia ou não
+	 * @return TRUE/FALSE conforme a lista esteja vazia ou não
+	 */
+	public boolean vazia() {
+		return (this.tamanho == 0);
+	}
+
+	/**
+	 * Insere um elemento na posição final da lista. Quando o último bloco está cheio, um novo bloco é
+	 * encadeado em vez de dividir o atual, de modo que listas montadas por inserções no final ficam com
+	 * os blocos completos.
+	 * @param elemento Elemento a ser inserido.
+	 */
+	public void inserir(E elemento) {
+		if (this.ultimo.quantidade == CAPACIDADE_BLOCO) {
+			encadearDepois(this.ultimo, new Bloco());
+		}
+		this.ultimo.itens[this.ultimo.quantidade++] = elemento;
+		this.tamanho++;
+		this.modificacoes++;
+	}
+
+	/**
+	 * Insere um novo elemento na posição indicada.
+	 * A posição máxima válida para inserção é 'tamanho' (insere no final).
+	 * @param novo Elemento a ser inserido.
+	 * @param posicao Posição de referência para inserção (0 <= posicao <= tamanho).
+	 * @throws IndexOutOfBoundsException em caso de posição inválida
+	 */
+	public void inserir(E novo, int posicao) {
+		if ((posicao < 0) || (posicao > this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível inserir o item na lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		if (posicao == this.tamanho) {
+			inserir(novo);
+			return;
+		}
+
+		localizarBloco(posicao);
+		Bloco bloco = this.blocoLocalizado;
+		int indice = this.indiceLocalizado;
+
+		if (bloco.quantidade == CAPACIDADE_BLOCO) {
+			// Bloco cheio: a metade de cima vai para um novo bloco logo depois dele
+			Bloco novoBloco = new Bloco();
+			int metade = CAPACIDADE_BLOCO / 2;
+			System.arraycopy(bloco.itens, metade, novoBloco.itens, 0, CAPACIDADE_BLOCO - metade);
+			Arrays.fill(bloco.itens, metade, CAPACIDADE_BLOCO, null);
+			novoBloco.quantidade = CAPACIDADE_BLOCO - metade;
+			bloco.quantidade = metade;
+			encadearDepois(bloco, novoBloco);
+			if (indice > metade) {
+				bloco = novoBloco;
+				indice -= metade;
+			}
+		}
+
+		System.arraycopy(bloco.itens, indice, bloco.itens, indice + 1, bloco.quantidade - indice);
+		bloco.itens[indice] = novo;
+		bloco.quantidade++;
+
+		this.tamanho++;
+		this.modificacoes++;
+	}
+
+	/**
+	 * Remove o último elemento da lista.
+	 * @return O elemento removido
+	 * @throws IllegalStateException em caso de lista vazia
+	 */
+	public E remover() {
+		if (vazia()) {
+			throw new IllegalStateException("Não foi possível remover o último item: a lista está vazia!");
+		}
+		return remover(tamanho - 1);
+	}
+
+	/**
+	 * Remove um elemento da posição indicada. Se a lista estiver vazia ou a posição for inválida (<0 ou >=tamanho),
+	 * lança exceção.
+	 * @param posicao Posição do elemento a ser removido (0 <= posicao < tamanho).
+	 * @return O elemento removido.
+	 * @throws IllegalStateException em caso de lista vazia.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public E remover(int posicao) {
+		if (vazia())
+			throw new IllegalStateException("Não foi possível remover o item da lista: "
+					+ "a lista está vazia!");
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível remover o item da lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		localizarBloco(posicao);
+		Bloco bloco = this.blocoLocalizado;
+		int indice = this.indiceLocalizado;
+
+		E removido = bloco.item(indice);
+		System.arraycopy(bloco.itens, indice + 1, bloco.itens, indice, bloco.quantidade - indice - 1);
+		bloco.itens[--bloco.quantidade] = null; // Libera a referência para o GC
+
+		if (bloco.quantidade == 0) {
+			desencadear(bloco);
+		} else if (bloco.quantidade < MINIMO_BLOCO && bloco.proximo != null
+				&& bloco.quantidade + bloco.proximo.quantidade <= CAPACIDADE_BLOCO) {
+			// Bloco quase vazio: absorve o seguinte para manter a densidade
+			Bloco seguinte = bloco.proximo;
+			System.arraycopy(seguinte.itens, 0, bloco.itens, bloco.quantidade, seguinte.quantidade);
+			bloco.quantidade += seguinte.quantidade;
+			desencadear(seguinte);
+		}
+
+		this.tamanho--;
+		this.modificacoes++;
+
+		return removido;
+	}
+
+	/**
+	 * Retorna, sem retirar, um elemento na posição indicada.
+	 * @param posicao Posição do elemento a ser retornado (0 <= posicao < tamanho).
+	 * @return O elemento da posição indicada.
+	 * @throws IllegalStateException em caso de lista vazia.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public E elementoNaPosicao(int posicao) {
+		if (vazia())
+			throw new IllegalStateException("Não foi possível consultar o item da lista: "
+					+ "a lista está vazia!");
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível consultar o item da lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		localizarBloco(posicao);
+		return this.blocoLocalizado.item(this.indiceLocalizado);
+	}
+
+	/**
+	 * Encontra o bloco que contém a posição indicada, percorrendo os blocos a partir da ponta mais próxima.
+	 * A posição 'tamanho' corresponde ao fim do último bloco. O resultado fica em blocoLocalizado e indiceLocalizado.
+	 */
+	private void localizarBloco(int posicao) {
+		Bloco aux;
+		if (posicao < this.tamanho / 2) {
+			aux = this.primeiro;
+			while (posicao >= aux.quantidade && aux.proximo != null) {
+				posicao -= aux.quantidade;
+				aux = aux.proximo;
+			}
+			this.indiceLocalizado = posicao;
+		} else {
+			aux = this.ultimo;
+			int restantes = this.tamanho - posicao; // Quantidade de itens da posição até o fim
+			while (restantes > aux.quantidade && aux.anterior != null) {
+				restantes -= aux.quantidade;
+				aux = aux.anterior;
+			}
+			this.indiceLocalizado = aux.quantidade - restantes;
+		}
+		this.blocoLocalizado = aux;
+	}
+
+	private void encadearDepois(Bloco bloco, Bloco novo) {
+		novo.anterior = bloco;
+		novo.proximo = bloco.proximo;
+		if (bloco.proximo != null) {
+			bloco.proximo.anterior = novo;
+		} else {
+			this.ultimo = novo;
+		}
+		bloco.proximo = novo;
+	}
+
+	/** Retira um bloco do encadeamento; o único bloco da lista nunca é retirado. */
+	private void desencadear(Bloco bloco) {
+		if (bloco.anterior == null && bloco.proximo == null) {
+			return;
+		}
+		if (bloco.anterior != null) {
+			bloco.anterior.proximo = bloco.proximo;
+		} else {
+			this.primeiro = bloco.proximo;
+		}
+		if (bloco.proximo != null) {
+			bloco.proximo.anterior = bloco.anterior;
+		} else {
+			this.ultimo = bloco.anterior;
+		}
+		bloco.anterior = null;
+		bloco.proximo = null;
+	}
+
+	/**
+	 * Localiza e retorna o primeiro elemento da lista que atenda à condição indicada pelo predicado.
+	 * @param condicional Predicado com a condição para encontrar um elemento.
+	 * @return O primeiro elemento encontrado que atenda à condição ou null, caso não haja.
+	 */
+	public E localizar(Predicate<E> condicional) {
+		for (Bloco bloco = primeiro; bloco != null; bloco = bloco.proximo) {
+			for (int i = 0; i < bloco.quantidade; i++) {
+				E item = bloco.item(i);
+				if (condicional.test(item)) {
+					return item;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Conta quantos elementos na lista atendem à condição estabelecida pelo predicado.
+	 * @param condicional Predicado com a condição para verificação de elementos na lista.
+	 * @return Inteiro com a quantidade de elementos que atendem ao predicado (0 se a lista for vazia).
+	 */
+	public int contarRepeticoes(Predicate<E> condicional) {
+		int contador = 0;
+		for (Bloco bloco = primeiro; bloco != null; bloco = bloco.proximo) {
+			for (int i = 0; i < bloco.quantidade; i++) {
+				if (condicional.test(bloco.item(i))) {
+					contador++;
+				}
+			}
+		}
+		return contador;
+	}
+
+	/**
+	 * Calcula e retorna o valor total de um determinado atributo numérico (Double) dos elementos da lista,
+	 * utilizando uma função de extração fornecida.
+	 * @param extrator Uma função que recebe um elemento (E) e retorna seu valor (Double).
+	 * @return O valor total (soma) dos atributos extraídos. Retorna 0.0 se a lista estiver vazia.
+	 */
+	public double calcularValorTotal(Function<E, Double> extrator) {
+		return somar(elemento -> extrator.apply(elemento));
+	}
+
+	/**
+	 * Soma um valor numérico extraído de cada elemento, sem boxing, usando a mesma soma compensada de Lista.
+	 * @param extrator Função que recebe um elemento e retorna seu valor como double primitivo.
+	 * @return A soma dos valores extraídos (0.0 se a lista estiver vazia).
+	 */
+	public double somar(ToDoubleFunction<? super E> extrator) {
+		Lista.SomaCompensada soma = new Lista.SomaCompensada();
+		for (Bloco bloco = primeiro; bloco != null; bloco = bloco.proximo) {
+			for (int i = 0; i < bloco.quantidade; i++) {
+				soma.adicionar(extrator.applyAsDouble(bloco.item(i)));
+			}
+		}
+		return soma.total();
+	}
+
+	/**
+	 * Retorna um iterador fail-fast sobre os elementos da lista, do primeiro ao último.
+	 * @return Um cursor posicionado antes do primeiro elemento.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return cursor();
+	}
+
+	/**
+	 * Cria um cursor posicionado antes do primeiro elemento da lista.
+	 * @return Cursor que pode ser guardado e retomado sem percorrer a lista novamente.
+	 */
+	public Cursor cursor() {
+		return new Cursor(primeiro, 0, 0);
+	}
+
+	/**
+	 * Cria um cursor cujo próximo elemento é o da posição indicada. Chega à posição saltando blocos inteiros
+	 * a partir da ponta mais próxima; a partir daí cada avanço é O(1).
+	 * @param posicao Posição do próximo elemento a ser retornado (0 <= posicao <= tamanho).
+	 * @return Cursor posicionado antes do elemento da posição indicada.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public Cursor cursor(int posicao) {
+		if ((posicao < 0) || (posicao > this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível posicionar o cursor na lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		localizarBloco(posicao);
+		return new Cursor(this.blocoLocalizado, this.indiceLocalizado, posicao);
+	}
+
+	/**
+	 * Spliterator ordenado e de tamanho conhecido sobre os elementos da lista.
+	 * @return Spliterator com as características ORDERED e SIZED.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), tamanho, Spliterator.ORDERED);
+	}
+
+	/**
+	 * Retorna um stream sequencial com os elementos da lista.
+	 * @return Stream dos elementos, na ordem da lista.
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Cursor sobre a lista: guarda o bloco e o índice do próximo elemento, além de sua posição na lista.
+	 * Falha rapidamente (ConcurrentModificationException) se a lista for alterada estruturalmente
+	 * por fora do cursor.
+	 */
+	public class Cursor implements Iterator<E> {
+
+		private Bloco bloco;
+		private int indice;
+		private int posicao;
+		private final int modificacoesEsperadas;
+
+		private Cursor(Bloco bloco, int indice, int posicao) {
+			this.bloco = bloco;
+			this.indice = indice;
+			this.posicao = posicao;
+			this.modificacoesEsperadas = modificacoes;
+		}
+
+		/**
+		 * Indica se ainda há elementos a percorrer.
+		 * @return TRUE se houver um próximo elemento.
+		 */
+		@Override
+		public boolean hasNext() {
+			verificarModificacoes();
+			return posicao < tamanho;
+		}
+
+		/**
+		 * Avança o cursor e retorna o próximo elemento.
+		 * @return O próximo elemento da lista.
+		 * @throws NoSuchElementException se o cursor já estiver no fim da lista.
+		 */
+		@Override
+		public E next() {
+			verificarModificacoes();
+			if (posicao >= tamanho)
+				throw new NoSuchElementException("Não há mais itens a percorrer na lista!");
+			while (indice >= bloco.quantidade) {
+				bloco = bloco.proximo;
+				indice = 0;
+			}
+			posicao++;
+			return bloco.item(indice++);
+		}
+
+		/**
+		 * Retorna a posição do próximo elemento que será retornado pelo cursor.
+		 * @return Inteiro entre 0 e tamanho.
+		 */
+		public int posicao() {
+			return posicao;
+		}
+
+		private void verificarModificacoes() {
+			if (modificacoes != modificacoesEsperadas)
+				throw new ConcurrentModificationException("A lista foi alterada durante a iteração!");
+		}
+	}
+
+	/**
+	 * Retorna a quantidade atual de elementos na lista.
+	 * @return Inteiro não negativo com a quantidade atual de elementos na lista.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Retorna uma string com informação detalhada de cada elemento da lista.
+	 * A string indica as posições dos elementos, iniciando-se em 0.
+	 * Retorna "A Lista está vazia!" se a lista não contiver elementos.
+	 * @return Uma string com as informações de cada elemento da lista.
+	 */
+	@Override
+	public String toString() {
+		if (vazia()) {
+			return "A Lista está vazia!";
+		}
+		StringBuilder listaString = new StringBuilder();
+		int contador = 0;
+		for (Bloco bloco = primeiro; bloco != null; bloco = bloco.proximo) {
+			for (int i = 0; i < bloco.quantidade; i++) {
+				listaString.append("Posição ").append(contador).append(": ").append(bloco.item(i)).append('\n');
+				contador++;
+			}
+		}
+		listaString.setLength(listaString.length() - 1);
+		return listaString.toString();
+	}
+
+	/** Bloco da lista desenrolada: vetor de itens ocupado do índice 0 até quantidade-1, encadeado nos dois sentidos. */
+	private final class Bloco {
+
+		private final Object[] itens = new Object[CAPACIDADE_BLOCO];
+		private int quantidade;
+		private Bloco anterior;
+		private Bloco proximo;
+
+		@SuppressWarnings("unchecked")
+		private E item(int indice) {
+			return (E) itens[indice];
+		}
+	}
+}
@@ -0,0 +1,414 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lista com a mesma interface de Lista, implementada como uma skip list indexável: cada ligação guarda,
+ * além do próximo nó do seu nível, quantas posições ela salta. Inserir, remover e consultar por posição
+ * custam O(log n) esperado; as varreduras (localizar, contarRepeticoes, toString) percorrem o nível 0
+ * como uma lista encadeada comum.
+ */
+public class ListaIndexada<E> implements Iterable<E> {
+
+	/** Quantidade máxima de níveis; com promoção de 1/4, suficiente para listas de até 2^32 elementos */
+	private static final int MAXIMO_NIVEIS = 16;
+
+	private final No<E> primeiro; // Nó sentinela, presente em todos os níveis, na posição -1
+	private int niveis;           // Quantidade de níveis em uso
+	private int tamanho;
+	private int modificacoes;     // Contador de alterações estruturais (iteradores fail-fast)
+
+	// Nós anteriores à posição procurada em cada nível, e suas posições; reaproveitados a cada inserção ou remoção
+	private final No<E>[] anteriores;
+	private final int[] posicoesAnteriores;
+
+	/** Cria uma lista vazia com elemento sentinela */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public ListaIndexada() {
+		this.primeiro = new No<>(null, MAXIMO_NIVEIS);
+		this.anteriores = new No[MAXIMO_NIVEIS];
+		this.posicoesAnteriores = new int[MAXIMO_NIVEIS];
+		this.primeiro.saltos[0] = 1; // A ligação do nível 0 vai da posição -1 até o fim (posição 'tamanho')
+		this.niveis = 1;
+		this.tamanho = 0;
+	}
+
+	/**
+	 * Indica se a lista está vazia ou não
+	 * @return TRUE/FALSE conforme a lista esteja vazia ou não
+	 */
+	public boolean vazia() {
+		return (this.tamanho == 0);
+	}
+
+	/**
+	 * Insere um elemento na posição final da lista.
+	 * @param elemento Elemento a ser inserido.
+	 */
+	public void inserir(E elemento) {
+		inserir(elemento, tamanho);
+	}
+
+	/**
+	 * Insere um novo elemento na posição indicada. A posição 0 é após a sentinela.
+	 * A posição máxima válida para inserção é 'tamanho' (insere no final).
+	 * @param novo Elemento a ser inserido.
+	 * @param posicao Posição de referência para inserção (0 <= posicao <= tamanho).
+	 * @throws IndexOutOfBoundsException em caso de posição inválida
+	 */
+	public void inserir(E novo, int posicao) {
+		if ((posicao < 0) || (posicao > this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível inserir o item na lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		localizarAnteriores(posicao);
+
+		int nivelNovo = sortearNivel();
+		for (int nivel = this.niveis; nivel < nivelNovo; nivel++) {
+			// Os níveis que passam a ser usados começam com uma única ligação da sentinela até o fim
+			anteriores[nivel] = this.primeiro;
+			posicoesAnteriores[nivel] = -1;
+			this.primeiro.saltos[nivel] = this.tamanho + 1;
+		}
+		this.niveis = Math.max(this.niveis, nivelNovo);
+
+		No<E> novoNo = new No<>(novo, nivelNovo);
+		for (int nivel = 0; nivel < this.niveis; nivel++) {
+			No<E> anterior = anteriores[nivel];
+			if (nivel < nivelNovo) {
+				// A ligação do anterior é dividida em duas: anterior -> novo -> próximo
+				int distancia = posicao - posicoesAnteriores[nivel];
+				novoNo.proximos[nivel] = anterior.proximos[nivel];
+				novoNo.saltos[nivel] = anterior.saltos[nivel] - distancia + 1;
+				anterior.proximos[nivel] = novoNo;
+				anterior.saltos[nivel] = distancia;
+			} else {
+				// A ligação passa por cima do novo nó e fica uma posição mais longa
+				anterior.saltos[nivel]++;
+			}
+		}
+
+		this.tamanho++;
+		this.modificacoes++;
+	}
+
+	/**
+	 * Remove o último elemento da lista.
+	 * @return O elemento removido
+	 * @throws IllegalStateException em caso de lista vazia
+	 */
+	public E remover() {
+		if (vazia()) {
+			throw new IllegalStateException("Não foi possível remover o último item: a lista está vazia!");
+		}
+		return remover(tamanho - 1);
+	}
+
+	/**
+	 * Remove um elemento da posição indicada. Se a lista estiver vazia ou a posição for inválida (<0 ou >=tamanho),
+	 * lança exceção.
+	 * @param posicao Posição do elemento a ser removido (0 <= posicao < tamanho).
+	 * @return O elemento removido.
+	 * @throws IllegalStateException em caso de lista vazia.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public E remover(int posicao) {
+		if (vazia())
+			throw new IllegalStateException("Não foi possível remover o item da lista: "
+					+ "a lista está vazia!");
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível remover o item da lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		localizarAnteriores(posicao);
+
+		No<E> removido = anteriores[0].proximos[0];
+		for (int nivel = 0; nivel < this.niveis; nivel++) {
+			No<E> anterior = anteriores[nivel];
+			if (nivel < removido.proximos.length) {
+				// As duas ligações em volta do nó removido viram uma só
+				anterior.proximos[nivel] = removido.proximos[nivel];
+				anterior.saltos[nivel] += removido.saltos[nivel] - 1;
+			} else {
+				anterior.saltos[nivel]--;
+			}
+		}
+		while (this.niveis > 1 && this.primeiro.proximos[this.niveis - 1] == null) {
+			this.niveis--; // Descarta os níveis que ficaram vazios
+		}
+
+		this.tamanho--;
+		this.modificacoes++;
+
+		return removido.item;
+	}
+
+	/**
+	 * Retorna, sem retirar, um elemento na posição indicada.
+	 * @param posicao Posição do elemento a ser retornado (0 <= posicao < tamanho).
+	 * @return O elemento da posição indicada.
+	 * @throws IllegalStateException em caso de lista vazia.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public E elementoNaPosicao(int posicao) {
+		if (vazia())
+			throw new IllegalStateException("Não foi possível consultar o item da lista: "
+					+ "a lista está vazia!");
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível consultar o item da lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		return noNaPosicao(posicao).item;
+	}
+
+	/**
+	 * Desce pelos níveis guardando, em cada um, o último nó antes da posição indicada e a posição desse nó.
+	 */
+	private void localizarAnteriores(int posicao) {
+		No<E> aux = this.primeiro;
+		int posicaoAux = -1;
+		for (int nivel = this.niveis - 1; nivel >= 0; nivel--) {
+			while (aux.proximos[nivel] != null && posicaoAux + aux.saltos[nivel] < posicao) {
+				posicaoAux += aux.saltos[nivel];
+				aux = aux.proximos[nivel];
+			}
+			anteriores[nivel] = aux;
+			posicoesAnteriores[nivel] = posicaoAux;
+		}
+	}
+
+	/**
+	 * Retorna o nó da posição indicada; a posição -1 corresponde à sentinela. Não valida a posição.
+	 */
+	private No<E> noNaPosicao(int posicao) {
+		No<E> aux = this.primeiro;
+		int posicaoAux = -1;
+		for (int nivel = this.niveis - 1; nivel >= 0 && posicaoAux < posicao; nivel--) {
+			while (aux.proximos[nivel] != null && posicaoAux + aux.saltos[nivel] <= posicao) {
+				posicaoAux += aux.saltos[nivel];
+				aux = aux.proximos[nivel];
+			}
+		}
+		return aux;
+	}
+
+	/** Sorteia o nível de um novo nó: cada nível acima do primeiro com probabilidade 1/4. */
+	private static int sortearNivel() {
+		int sorteio = ThreadLocalRandom.current().nextInt();
+		return Math.min(1 + Integer.numberOfTrailingZeros(sorteio) / 2, MAXIMO_NIVEIS);
+	}
+
+	/**
+	 * Localiza e retorna o primeiro elemento da lista que atenda à condição indicada pelo predicado.
+	 * @param condicional Predicado com a condição para encontrar um elemento.
+	 * @return O primeiro elemento encontrado que atenda à condição ou null, caso não haja.
+	 */
+	public E localizar(Predicate<E> condicional) {
+		for (No<E> aux = primeiro.proximos[0]; aux != null; aux = aux.proximos[0]) {
+			if (condicional.test(aux.item)) {
+				return aux.item;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Conta quantos elementos na lista atendem à condição estabelecida pelo predicado.
+	 * @param condicional Predicado com a condição para verificação de elementos na lista.
+	 * @return Inteiro com a quantidade de elementos que atendem ao predicado (0 se a lista for vazia).
+	 */
+	public int contarRepeticoes(Predicate<E> condicional) {
+		int contador = 0;
+		for (No<E> aux = primeiro.proximos[0]; aux != null; aux = aux.proximos[0]) {
+			if (condicional.test(aux.item)) {
+				contador++;
+			}
+		}
+		return contador;
+	}
+
+	/**
+	 * Calcula e retorna o valor total de um determinado atributo numérico (Double) dos elementos da lista,
+	 * utilizando uma função de extração fornecida.
+	 * @param extrator Uma função que recebe um elemento (E) e retorna seu valor (Double).
+	 * @return O valor total (soma) dos atributos extraídos. Retorna 0.0 se a lista estiver vazia.
+	 */
+	public double calcularValorTotal(Function<E, Double> extrator) {
+		return somar(elemento -> extrator.apply(elemento));
+	}
+
+	/**
+	 * Soma um valor numérico extraído de cada elemento, sem boxing, usando a mesma soma compensada de Lista.
+	 * @param extrator Função que recebe um elemento e retorna seu valor como double primitivo.
+	 * @return A soma dos valores extraídos (0.0 se a lista estiver vazia).
+	 */
+	public double somar(ToDoubleFunction<? super E> extrator) {
+		Lista.SomaCompensada soma = new Lista.SomaCompensada();
+		for (No<E> aux = primeiro.proximos[0]; aux != null; aux = aux.proximos[0]) {
+			soma.adicionar(extrator.applyAsDouble(aux.item));
+		}
+		return soma.total();
+	}
+
+	/**
+	 * Retorna um iterador fail-fast sobre os elementos da lista, do primeiro ao último.
+	 * @return Um cursor posicionado antes do primeiro elemento.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return cursor();
+	}
+
+	/**
+	 * Cria um cursor posicionado antes do primeiro elemento da lista.
+	 * @return Cursor que pode ser guardado e retomado sem percorrer a lista novamente.
+	 */
+	public Cursor cursor() {
+		return new Cursor(primeiro, 0);
+	}
+
+	/**
+	 * Cria um cursor cujo próximo elemento é o da posição indicada. Chega à posição em O(log n);
+	 * a partir daí cada avanço é O(1).
+	 * @param posicao Posição do próximo elemento a ser retornado (0 <= posicao <= tamanho).
+	 * @return Cursor posicionado antes do elemento da posição indicada.
+	 * @throws IndexOutOfBoundsException em caso de posição inválida.
+	 */
+	public Cursor cursor(int posicao) {
+		if ((posicao < 0) || (posicao > this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível posicionar o cursor na lista: "
+					+ "a posição " + posicao + " é inválida para uma lista de tamanho " + this.tamanho + "!");
+
+		return new Cursor(noNaPosicao(posicao - 1), posicao);
+	}
+
+	/**
+	 * Spliterator ordenado e de tamanho conhecido sobre os elementos da lista.
+	 * @return Spliterator com as características ORDERED e SIZED.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), tamanho, Spliterator.ORDERED);
+	}
+
+	/**
+	 * Retorna um stream sequencial com os elementos da lista.
+	 * @return Stream dos elementos, na ordem da lista.
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Cursor sobre a lista: guarda o nó anterior ao próximo elemento e sua posição. Falha rapidamente
+	 * (ConcurrentModificationException) se a lista for alterada estruturalmente por fora do cursor.
+	 */
+	public class Cursor implements Iterator<E> {
+
+		private No<E> anterior;
+		private int posicao;
+		private final int modificacoesEsperadas;
+
+		private Cursor(No<E> anterior, int posicao) {
+			this.anterior = anterior;
+			this.posicao = posicao;
+			this.modificacoesEsperadas = modificacoes;
+		}
+
+		/**
+		 * Indica se ainda há elementos a percorrer.
+		 * @return TRUE se houver um próximo elemento.
+		 */
+		@Override
+		public boolean hasNext() {
+			verificarModificacoes();
+			return anterior.proximos[0] != null;
+		}
+
+		/**
+		 * Avança o cursor e retorna o próximo elemento.
+		 * @return O próximo elemento da lista.
+		 * @throws NoSuchElementException se o cursor já estiver no fim da lista.
+		 */
+		@Override
+		public E next() {
+			verificarModificacoes();
+			No<E> atual = anterior.proximos[0];
+			if (atual == null)
+				throw new NoSuchElementException("Não há mais itens a percorrer na lista!");
+			anterior = atual;
+			posicao++;
+			return atual.item;
+		}
+
+		/**
+		 * Retorna a posição do próximo elemento que será retornado pelo cursor.
+		 * @return Inteiro entre 0 e tamanho.
+		 */
+		public int posicao() {
+			return posicao;
+		}
+
+		private void verificarModificacoes() {
+			if (modificacoes != modificacoesEsperadas)
+				throw new ConcurrentModificationException("A lista foi alterada durante a iteração!");
+		}
+	}
+
+	/**
+	 * Retorna a quantidade atual de elementos na lista.
+	 * @return Inteiro não negativo com a quantidade atual de elementos na lista.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Retorna uma string com informação detalhada de cada elemento da lista.
+	 * A string indica as posições dos elementos, iniciando-se em 0.
+	 * Retorna "A Lista está vazia!" se a lista não contiver elementos.
+	 * @return Uma string com as informações de cada elemento da lista.
+	 */
+	@Override
+	public String toString() {
+		if (vazia()) {
+			return "A Lista está vazia!";
+		}
+		StringBuilder listaString = new StringBuilder();
+		int contador = 0;
+		for (No<E> aux = primeiro.proximos[0]; aux != null; aux = aux.proximos[0]) {
+			listaString.append(String.format("Posição %d: %s\n", contador, aux.item.toString()));
+			contador++;
+		}
+		listaString.setLength(listaString.length() - 1);
+		return listaString.toString();
+	}
+
+	/**
+	 * Nó da skip list. Em cada nível, 'proximos' aponta para o próximo nó daquele nível e 'saltos' guarda
+	 * quantas posições essa ligação avança; a última ligação de cada nível vai até a posição 'tamanho'.
+	 */
+	private static final class No<E> {
+
+		private final E item;
+		private final No<E>[] proximos;
+		private final int[] saltos;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private No(E item, int niveis) {
+			this.item = item;
+			this.proximos = new No[niveis];
+			this.saltos = new int[niveis];
+		}
+	}
+}
@@ -0,0 +1,261 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de métricas do processo: contadores e histogramas de latência (ou de qualquer grandeza inteira),
+ * identificados por nome. As métricas são criadas uma vez, normalmente em constantes estáticas de quem as
+ * registra, e o registro de valores não aloca memória nem usa bloqueios, podendo ser feito por várias threads.
+ * O relatório pode ser impresso ou exportado para um arquivo a qualquer momento.
+ */
+public final class Metricas {
+
+    private static final Map<String, Contador> contadores = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histograma> histogramas = new ConcurrentSkipListMap<>();
+
+    private static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private Metricas() {
+    }
+
+    /**
+     * Retorna o contador com o nome indicado, criando-o se ainda não existir.
+     * @param nome Nome da métrica, por exemplo "catalogo.buscas".
+     * @return O contador registrado com esse nome.
+     */
+    public static Contador contador(String nome) {
+        return contadores.computeIfAbsent(nome, Contador::new);
+    }
+
+    /**
+     * Retorna o histograma com o nome indicado, criando-o se ainda não existir.
+     * @param nome Nome da métrica, por exemplo "catalogo.buscaPorId".
+     * @param unidade Unidade dos valores registrados, usada apenas no relatório (por exemplo "ns").
+     * @return O histograma registrado com esse nome.
+     */
+    public static Histograma histograma(String nome, String unidade) {
+        return histogramas.computeIfAbsent(nome, chave -> new Histograma(chave, unidade));
+    }
+
+    /** Zera todas as métricas registradas, mantendo os registros. */
+    public static void zerar() {
+        contadores.values().forEach(Contador::zerar);
+        histogramas.values().forEach(Histograma::zerar);
+    }
+
+    /**
+     * Monta o relatório com o valor atual de todas as métricas, em ordem de nome.
+     * As métricas continuam sendo registradas durante a montagem, então contagens e percentis podem diferir levemente.
+     * @return Texto do relatório, uma métrica por linha.
+     */
+    public static String relatorio() {
+        StringWriter texto = new StringWriter();
+        PrintWriter saida = new PrintWriter(texto);
+        saida.println("--- Métricas em " + LocalDateTime.now().format(FORMATO_DATA_HORA) + " ---");
+        for (Contador contador : contadores.values()) {
+            saida.printf("%-32s %12d%n", contador.nome, contador.valor());
+        }
+        if (!histogramas.isEmpty()) {
+            saida.printf("%-32s %10s %12s %12s %12s %12s %12s  %s%n", "histograma", "contagem", "média", "p50", "p90", "p99", "máx", "unidade");
+        }
+        for (Histograma histograma : histogramas.values()) {
+            saida.printf("%-32s %10d %12.1f %12d %12d %12d %12d  %s%n", histograma.nome, histograma.contagem(),
+                    histograma.media(), histograma.percentil(0.50), histograma.percentil(0.90),
+                    histograma.percentil(0.99), histograma.maximo(), histograma.unidade);
+        }
+        saida.flush();
+        return texto.toString();
+    }
+
+    /**
+     * Grava o relatório em um arquivo, substituindo-o por inteiro (grava em um arquivo temporário e renomeia).
+     * Exportações simultâneas, como a periódica e a do encerramento, são feitas uma de cada vez.
+     * @param arquivo Caminho do arquivo de destino.
+     * @throws IOException em caso de erro ao gravar o arquivo.
+     */
+    public static synchronized void exportar(Path arquivo) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        Files.write(temporario, relatorio().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Contador monotônico, com baixa contenção entre threads. */
+    public static final class Contador {
+
+        private final String nome;
+        private final LongAdder valor = new LongAdder();
+
+        private Contador(String nome) {
+            this.nome = nome;
+        }
+
+        /** Soma 1 ao contador. */
+        public void incrementar() {
+            valor.increment();
+        }
+
+        /**
+         * Soma uma quantidade ao contador.
+         * @param quantidade Quantidade a somar.
+         */
+        public void somar(long quantidade) {
+            valor.add(quantidade);
+        }
+
+        /**
+         * Retorna o valor atual do contador.
+         * @return Soma de todos os incrementos desde a criação ou o último zerar.
+         */
+        public long valor() {
+            return valor.sum();
+        }
+
+        private void zerar() {
+            valor.reset();
+        }
+    }
+
+    /**
+     * Histograma log-linear de valores não negativos, no estilo do HdrHistogram: cada potência de 2 é dividida
+     * em SUBFAIXAS faixas de mesma largura, de modo que o erro relativo de um percentil é de no máximo
+     * 1/SUBFAIXAS (cerca de 3%), para qualquer valor até Long.MAX_VALUE, com um vetor de tamanho fixo.
+     * Valores menores que 2*SUBFAIXAS são contados exatamente.
+     */
+    public static final class Histograma {
+
+        /** Bits de subdivisão de cada potência de 2 */
+        private static final int BITS_SUBFAIXA = 5;
+        private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+        /** Faixas exatas (0 a 2*SUBFAIXAS-1) e SUBFAIXAS faixas para cada potência de 2 acima delas, até Long.MAX_VALUE */
+        private static final int QUANTIDADE_FAIXAS = (64 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+        private final String nome;
+        private final String unidade;
+        private final AtomicLongArray contagens = new AtomicLongArray(QUANTIDADE_FAIXAS);
+        private final LongAdder contagem = new LongAdder();
+        private final LongAdder soma = new LongAdder();
+        private final AtomicLong maximo = new AtomicLong();
+
+        private Histograma(String nome, String unidade) {
+            this.nome = nome;
+            this.unidade = unidade;
+        }
+
+        /**
+         * Registra um valor. Valores negativos são registrados como 0.
+         * @param valor Valor a registrar, por exemplo uma duração em nanossegundos.
+         */
+        public void registrar(long valor) {
+            if (valor < 0) {
+                valor = 0;
+            }
+            contagens.incrementAndGet(faixa(valor));
+            contagem.increment();
+            soma.add(valor);
+            long maximoAtual = maximo.get();
+            while (valor > maximoAtual && !maximo.compareAndSet(maximoAtual, valor)) {
+                maximoAtual = maximo.get();
+            }
+        }
+
+        /**
+         * Registra o tempo decorrido desde o instante indicado.
+         * @param inicioNanos Instante inicial, obtido de System.nanoTime().
+         */
+        public void registrarDesde(long inicioNanos) {
+            registrar(System.nanoTime() - inicioNanos);
+        }
+
+        /** Faixa de um valor: exata abaixo de 2*SUBFAIXAS; acima, a potência de 2 e os BITS_SUBFAIXA bits seguintes. */
+        private static int faixa(long valor) {
+            if (valor < 2 * SUBFAIXAS) {
+                return (int) valor;
+            }
+            int deslocamento = (63 - Long.numberOfLeadingZeros(valor)) - BITS_SUBFAIXA;
+            return deslocamento * SUBFAIXAS + (int) (valor >>> deslocamento);
+        }
+
+        /** Maior valor contado na faixa indicada. */
+        private static long limiteSuperior(int faixa) {
+            if (faixa < 2 * SUBFAIXAS) {
+                return faixa;
+            }
+            int deslocamento = faixa / SUBFAIXAS - 1;
+            long topo = faixa % SUBFAIXAS + SUBFAIXAS;
+            return ((topo + 1) << deslocamento) - 1;
+        }
+
+        /**
+         * Retorna a quantidade de valores registrados.
+         * @return Inteiro não negativo.
+         */
+        public long contagem() {
+            return contagem.sum();
+        }
+
+        /**
+         * Retorna a média dos valores registrados.
+         * @return A média, ou 0 se não houver valores.
+         */
+        public double media() {
+            long quantidade = contagem.sum();
+            return (quantidade == 0) ? 0 : (double) soma.sum() / quantidade;
+        }
+
+        /**
+         * Retorna o maior valor registrado.
+         * @return O maior valor, ou 0 se não houver valores.
+         */
+        public long maximo() {
+            return maximo.get();
+        }
+
+        /**
+         * Retorna o percentil indicado, pelo limite superior da faixa em que ele cai (limitado ao máximo registrado).
+         * @param fracao Fração do percentil, entre 0 e 1 (por exemplo 0.99 para o p99).
+         * @return Valor do percentil, ou 0 se não houver valores.
+         * @throws IllegalArgumentException se a fração estiver fora do intervalo [0, 1].
+         */
+        public long percentil(double fracao) {
+            if (fracao < 0 || fracao > 1)
+                throw new IllegalArgumentException("Fração de percentil inválida: " + fracao);
+
+            long total = 0;
+            for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+                total += contagens.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long posto = Math.max(1, (long) Math.ceil(fracao * total));
+            long acumulado = 0;
+            for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+                acumulado += contagens.get(i);
+                if (acumulado >= posto) {
+                    return Math.min(limiteSuperior(i), maximo.get());
+                }
+            }
+            return maximo.get();
+        }
+
+        private void zerar() {
+            for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+                contagens.set(i, 0);
+            }
+            contagem.reset();
+            soma.reset();
+            maximo.set(0);
+        }
+    }
+}
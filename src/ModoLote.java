@@ -0,0 +1,113 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Modo em lote da aplicação: executa um arquivo de comandos de pedido (veja SessaoPedido) contra o catálogo
+ * carregado, sem interação com o teclado, e ao final informa a vazão e os percentis de latência por comando.
+ * Os pedidos finalizados ficam apenas em memória: o lote serve para reprocessar movimentos já registrados,
+ * e não é gravado no diário de pedidos.
+ */
+public class ModoLote {
+
+    /** Quantidade máxima de erros detalhados na saída de erro; os demais são apenas contados */
+    private static final int ERROS_DETALHADOS = 20;
+
+    private ModoLote() {
+    }
+
+    /**
+     * Executa os comandos do arquivo, na ordem, e imprime o resumo.
+     * @param script Arquivo de comandos, em UTF-8.
+     * @param catalogo Catálogo carregado.
+     * @param finalizados Lista que recebe os pedidos finalizados pelo lote.
+     * @param saida Destino do resumo.
+     * @return Quantidade de comandos que falharam.
+     * @throws IOException em caso de erro ao ler o arquivo de comandos.
+     */
+    public static int executar(Path script, Catalogo catalogo, Lista<Pedido> finalizados, PrintStream saida)
+            throws IOException {
+        RepositorioPedidos repositorio = new RepositorioPedidos(finalizados, null);
+        SessaoPedido sessao = new SessaoPedido(catalogo, repositorio);
+        long[] latencias = new long[1024];
+        int comandos = 0;
+        int erros = 0;
+        long numeroLinha = 0;
+        int pedidosAntes = finalizados.tamanho();
+
+        long inicio = System.nanoTime();
+        try (BufferedReader leitor = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                long inicioComando = System.nanoTime();
+                String resposta;
+                try {
+                    resposta = sessao.executar(linha);
+                } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+                    resposta = "";
+                    erros++;
+                    if (erros <= ERROS_DETALHADOS) {
+                        System.err.println("ERRO na linha " + numeroLinha + " do lote ('" + linha + "'): " + e.getMessage());
+                    }
+                }
+                if (resposta == null) {
+                    continue; // Linha em branco ou comentário
+                }
+                if (comandos == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, comandos * 2);
+                }
+                latencias[comandos++] = System.nanoTime() - inicioComando;
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        if (erros > ERROS_DETALHADOS) {
+            System.err.println("... e mais " + (erros - ERROS_DETALHADOS) + " erro(s).");
+        }
+        if (sessao.getPedidoAtual() != null) {
+            saida.println("Atenção: o lote terminou com um pedido em andamento, que não foi finalizado.");
+        }
+        imprimirResumo(saida, comandos, erros, finalizados.tamanho() - pedidosAntes, valorDesde(finalizados, pedidosAntes),
+                duracao, Arrays.copyOf(latencias, comandos));
+        return erros;
+    }
+
+    /** Valor total dos pedidos finalizados a partir da posição indicada, isto é, dos pedidos deste lote. */
+    private static double valorDesde(Lista<Pedido> finalizados, int posicao) {
+        Lista.SomaCompensada soma = new Lista.SomaCompensada();
+        for (Lista<Pedido>.Cursor cursor = finalizados.cursor(posicao); cursor.hasNext(); ) {
+            soma.adicionar(cursor.next().valorFinal());
+        }
+        return soma.total();
+    }
+
+    private static void imprimirResumo(PrintStream saida, int comandos, int erros, int pedidos, double valorTotal,
+            long duracao, long[] latencias) {
+        double segundos = duracao / 1e9;
+        Arrays.sort(latencias);
+
+        saida.println("--- Resumo do Lote ---");
+        saida.printf("Comandos executados: %d (%d com erro)%n", comandos, erros);
+        saida.printf("Pedidos finalizados: %d (valor total: R$ %.2f)%n", pedidos, valorTotal);
+        saida.printf("Tempo total: %.3f s%n", segundos);
+        if (segundos > 0) {
+            saida.printf("Vazão: %.0f comandos/s, %.0f pedidos/s%n", comandos / segundos, pedidos / segundos);
+        }
+        if (latencias.length > 0) {
+            saida.printf("Latência por comando (µs): p50 %.1f | p90 %.1f | p99 %.1f | máx %.1f%n",
+                    percentil(latencias, 0.50) / 1e3, percentil(latencias, 0.90) / 1e3,
+                    percentil(latencias, 0.99) / 1e3, latencias[latencias.length - 1] / 1e3);
+        }
+    }
+
+    /** Percentil pelo método do posto mais próximo, sobre latências já ordenadas. */
+    private static long percentil(long[] ordenadas, double fracao) {
+        int posto = (int) Math.ceil(fracao * ordenadas.length);
+        return ordenadas[Math.max(0, posto - 1)];
+    }
+}
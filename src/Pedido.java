@@ -1,11 +1,20 @@
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.function.Predicate;
+import java.util.HashMap;
 
 public class Pedido {
 
-	/** Lista para armazenar os produtos do pedido */
-	private Lista<Produto> produtos;
+	/** Tempo de cada inclusão, onde o valor final do pedido é atualizado */
+	private static final Metricas.Histograma INCLUSAO = Metricas.histograma("pedido.incluirProduto", "ns");
+
+	/** Itens do pedido (produto e quantidade), na ordem em que cada produto foi incluído pela primeira vez */
+	private Lista<ItemPedido> itens;
+
+	/** Índice dos itens por produto, para agregar as unidades de um mesmo produto */
+	private HashMap<Produto, ItemPedido> itensPorProduto;
+
+	/** Quantidade de unidades por descrição normalizada, para responder repeticoes com uma consulta */
+	private HashMap<String, Integer> unidadesPorDescricao;
 
 	/** Data de criação do pedido */
 	private LocalDate dataPedido;
@@ -13,55 +22,127 @@ public class Pedido {
 	/** Indica a quantidade total de produtos no pedido até o momento */
 	private int quantProdutos = 0; // Controla a quantidade total de itens adicionados
 
+	/** Valor total do pedido, atualizado a cada inclusão */
+	private double valorTotal = 0.0;
+
 	/** Construtor do pedido.
-	 * Cria a lista de produtos do pedido e armazena a data atual do sistema. */
+	 * Cria a lista de itens do pedido e armazena a data atual do sistema. */
 	public Pedido() {
-		produtos = new Lista<Produto>(); // Cria a lista interna
+		itens = new Lista<ItemPedido>(); // Cria a lista interna
+		itensPorProduto = new HashMap<>();
+		unidadesPorDescricao = new HashMap<>();
 		quantProdutos = 0;             // Inicializa contador
-		dataPedido = LocalDate.now();  // Define a data do pedido
+		dataPedido = RelogioPrecos.hoje();  // Define a data do pedido
 	}
 
 	/**
-     * Inclui um produto neste pedido e incrementa a quantidade total de produtos. (Tarefa 2)
+	 * Cria um pedido vazio com a data indicada, para reconstruir um pedido gravado no diário de pedidos.
+	 * @param dataPedido Data original do pedido.
+	 */
+	Pedido(LocalDate dataPedido) {
+		this();
+		this.dataPedido = dataPedido;
+	}
+
+	/**
+     * Inclui uma unidade de um produto neste pedido e incrementa a quantidade total de produtos. (Tarefa 2)
      * @param novo O produto a ser incluído no pedido.
      * @return A nova quantidade total de produtos no pedido após a inclusão.
      */
 	public int incluirProduto(Produto novo) {
-        if (novo != null) {
-		    produtos.inserir(novo); // Usa o método inserir da Lista (insere no final)
-		    quantProdutos++;        // Incrementa o contador de itens
-        } else {
+		return incluirProduto(novo, 1);
+	}
+
+	/**
+     * Inclui várias unidades de um produto neste pedido. Unidades do mesmo produto são agregadas em um único item,
+     * e o valor total do pedido é atualizado com o valor de venda atual do produto.
+     * @param novo O produto a ser incluído no pedido.
+     * @param unidades Quantidade de unidades a incluir (maior que zero).
+     * @return A nova quantidade total de produtos no pedido após a inclusão.
+     */
+	public int incluirProduto(Produto novo, int unidades) {
+        if (novo == null) {
              System.err.println("Tentativa de incluir produto nulo no pedido."); // Aviso de erro
+             return quantProdutos;
         }
+        if (unidades <= 0) {
+             throw new IllegalArgumentException("Quantidade inválida para o produto no pedido: " + unidades);
+        }
+        long inicio = System.nanoTime();
+        ItemPedido item = itensPorProduto.get(novo);
+        if (item == null) {
+            item = new ItemPedido(novo);
+            itensPorProduto.put(novo, item);
+            itens.inserir(item);
+        }
+        double valorUnitario = novo.valorDeVenda();
+        item.acrescentar(unidades, valorUnitario);
+        unidadesPorDescricao.merge(IndiceDescricao.normalizar(novo.descricao), unidades, Integer::sum);
+        valorTotal += unidades * valorUnitario;
+        quantProdutos += unidades;
+        INCLUSAO.registrarDesde(inicio);
 		return quantProdutos;
 	}
 
+	/**
+	 * Inclui um item com o subtotal gravado no diário de pedidos, sem recalcular o valor de venda atual do produto.
+	 * @param produto O produto do item.
+	 * @param unidades Quantidade de unidades (maior que zero).
+	 * @param subtotal Valor dessas unidades quando o pedido foi finalizado.
+	 * @throws IllegalArgumentException se a quantidade for inválida.
+	 */
+	void restaurarItem(Produto produto, int unidades, double subtotal) {
+        if (unidades <= 0) {
+             throw new IllegalArgumentException("Quantidade inválida para o produto no pedido: " + unidades);
+        }
+        ItemPedido item = itensPorProduto.get(produto);
+        if (item == null) {
+            item = new ItemPedido(produto);
+            itensPorProduto.put(produto, item);
+            itens.inserir(item);
+        }
+        item.restaurar(unidades, subtotal);
+        unidadesPorDescricao.merge(IndiceDescricao.normalizar(produto.descricao), unidades, Integer::sum);
+        valorTotal += subtotal;
+        quantProdutos += unidades;
+	}
+
     /**
-     * Retorna a lista interna de produtos deste pedido.
-     * @return A Lista<Produto> contendo os produtos do pedido.
+     * Retorna a lista interna de itens deste pedido.
+     * @return A Lista<ItemPedido> com cada produto do pedido e sua quantidade.
      */
-	public Lista<Produto> getProdutos() {
-		return produtos;
+	public Lista<ItemPedido> getItens() {
+		return itens;
+	}
+
+    /**
+     * Indica se o pedido ainda não tem nenhum produto.
+     * @return TRUE/FALSE conforme o pedido esteja vazio ou não.
+     */
+	public boolean vazio() {
+		return itens.vazia();
+	}
+
+    /**
+     * Retorna a data de criação do pedido.
+     * @return A data do pedido.
+     */
+	public LocalDate getDataPedido() {
+		return dataPedido;
 	}
 
 	/**
-     * Calcula e retorna o valor final do pedido (soma do valor de venda de todos os produtos). (Tarefa 2)
+     * Retorna o valor final do pedido (soma do valor de venda de todos os produtos, no momento da inclusão). (Tarefa 2)
+     * O valor é mantido a cada inclusão, sem percorrer os itens.
      * @return Valor final do pedido (double). Retorna 0.0 se o pedido estiver vazio.
      */
 	public double valorFinal() {
-        if (produtos.vazia()) {
-            return 0.0;
-        }
-		// Usa o método calcularValorTotal da Lista, passando uma referência ao método
-        // valorDeVenda da classe Produto como a função extratora.
-        return produtos.calcularValorTotal(Produto::valorDeVenda);
-        // Alternativa usando lambda:
-        // return produtos.calcularValorTotal(produto -> produto.valorDeVenda());
+        return valorTotal;
 	}
 
 	/**
      * Representação, em String, do pedido.
-     * Contém um cabeçalho com sua data e depois, em cada linha, a descrição de cada produto (usando o toString da Lista).
+     * Contém um cabeçalho com sua data e depois, em cada linha, cada item com sua quantidade (usando o toString da Lista).
      * Ao final, mostra o valor a ser pago pelo pedido, formatado.
      * @return Uma string contendo dados do pedido.
      */
@@ -72,10 +153,10 @@ public class Pedido {
 
 		stringPedido.append("Pedido na data " + formatoData.format(dataPedido) + "\n");
 
-        // Verifica se a lista de produtos está vazia antes de chamar toString nela
-        if (!produtos.vazia()) {
+        // Verifica se a lista de itens está vazia antes de chamar toString nela
+        if (!itens.vazia()) {
             stringPedido.append("Produtos:\n");
-			stringPedido.append(produtos.toString()); // Chama o toString da Lista interna
+			stringPedido.append(itens.toString()); // Chama o toString da Lista interna
 		} else {
             stringPedido.append("Pedido vazio.\n");
         }
@@ -93,12 +174,18 @@ public class Pedido {
 	public int repeticoes(Produto produto){
         if (produto == null || produto.descricao == null) return 0; // Segurança
 
-		// Cria um predicado (condição) que compara a descrição do produto atual (p)
-        // com a descrição do produto fornecido, ignorando maiúsculas/minúsculas.
-        Predicate<Produto> comparaDescricaoIgnoreCase = p -> p != null && p.descricao != null && p.descricao.equalsIgnoreCase(produto.descricao);
+        return repeticoes(produto.descricao);
+	}
+
+	/**
+	 * Conta as unidades, dentro do pedido, de produtos com a descrição indicada (ignorando maiúsculas/minúsculas).
+	 * @param descricao Descrição a ser contada.
+	 * @return Quantidade de repetições de produtos com essa descrição no pedido.
+	 */
+	public int repeticoes(String descricao){
+        if (descricao == null) return 0;
 
-		// Usa o método contarRepeticoes da Lista interna, passando o predicado criado.
-        return produtos.contarRepeticoes(comparaDescricaoIgnoreCase);
+        return unidadesPorDescricao.getOrDefault(IndiceDescricao.normalizar(descricao), 0);
 	}
 
 	/**
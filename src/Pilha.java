@@ -13,6 +13,12 @@ public class Pilha<E> {
 
 	}
 
+	private Pilha(Celula<E> topo, Celula<E> fundo) {
+
+		this.topo = topo;
+		this.fundo = fundo;
+	}
+
 	public boolean vazia() {
 		return fundo == topo;
 	}
@@ -40,27 +46,20 @@ public class Pilha<E> {
 
 	}
 
-	private void inverter() {
-		
-		Pilha<E> pilha = new Pilha<>();
-		
-		while (!vazia()) {
-			pilha.empilhar(desempilhar());
-		}
-		
-		this.fundo = pilha.fundo;
-		this.topo = pilha.topo;
-	}
-	
+	/**
+	 * Retorna uma pilha com os 'numItens' itens do topo desta, na mesma ordem. As células não são copiadas:
+	 * como empilhar e desempilhar nunca alteram uma célula existente, a subpilha compartilha as células
+	 * desta pilha, tendo como fundo a célula logo abaixo do último item incluído.
+	 * @param numItens Quantidade de itens do topo.
+	 * @return A subpilha com os itens do topo.
+	 * @throws IllegalArgumentException se a pilha tiver menos que 'numItens' itens.
+	 */
 	public Pilha<E> subPilha(int numItens) {
 		
-		Pilha<E> subPilha = new Pilha<>();
 		Celula<E> aux = topo;
 		int i = 0;
 		
 		while (aux != fundo && i < numItens) {
-		
-			subPilha.empilhar(aux.getItem());
 			aux = aux.getProximo();
 			i++;
 		}
@@ -69,8 +68,7 @@ public class Pilha<E> {
 			throw new IllegalArgumentException("Não há essa quantidade de itens na pilha!");
 		}
 		
-		subPilha.inverter();
-		return subPilha;
+		return new Pilha<>(topo, aux);
 	}
 
 	public void imprimir() {
@@ -0,0 +1,87 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Pilha encadeada cujas células nunca são alteradas depois de criadas. Cada pilha é apenas uma
+ * referência ao topo e a quantidade de itens visíveis a partir dele, de modo que várias pilhas podem
+ * compartilhar as mesmas células e subPilha é feita em tempo constante, sem copiar nada.
+ */
+public class PilhaPersistente<E> {
+
+	private Celula<E> topo;
+	private int tamanho;
+
+	public PilhaPersistente() {
+
+		this(null, 0);
+	}
+
+	private PilhaPersistente(Celula<E> topo, int tamanho) {
+
+		this.topo = topo;
+		this.tamanho = tamanho;
+	}
+
+	public boolean vazia() {
+		return tamanho == 0;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	public void empilhar(E item) {
+
+		topo = new Celula<E>(item, topo);
+		tamanho++;
+	}
+
+	public E desempilhar() {
+
+		E desempilhado = consultarTopo();
+		topo = topo.getProximo();
+		tamanho--;
+		return desempilhado;
+
+	}
+
+	public E consultarTopo() {
+
+		if (vazia()) {
+			throw new NoSuchElementException("Nao há nenhum item na pilha!");
+		}
+
+		return topo.getItem();
+
+	}
+
+	/**
+	 * Retorna, em tempo constante, uma pilha com os 'numItens' itens do topo desta, compartilhando suas células.
+	 * Alterações posteriores em qualquer uma das duas pilhas não afetam a outra.
+	 * @param numItens Quantidade de itens do topo.
+	 * @return A subpilha com os itens do topo.
+	 * @throws IllegalArgumentException se a pilha tiver menos que 'numItens' itens.
+	 */
+	public PilhaPersistente<E> subPilha(int numItens) {
+
+		if (numItens < 0 || numItens > tamanho) {
+			throw new IllegalArgumentException("Não há essa quantidade de itens na pilha!");
+		}
+
+		return new PilhaPersistente<>(topo, numItens);
+	}
+
+	public void imprimir() {
+
+		Celula<E> aux;
+
+		if (vazia())
+			System.out.println("A pilha está vazia!");
+		else {
+			aux = this.topo;
+			for (int i = 0; i < tamanho; i++) {
+				System.out.println(aux.getItem());
+				aux = aux.getProximo();
+			}
+		}
+	}
+}
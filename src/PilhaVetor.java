@@ -0,0 +1,86 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pilha implementada sobre um vetor que cresce conforme a necessidade. Empilhar não aloca células,
+ * e subPilha copia de uma só vez a faixa do topo do vetor.
+ */
+public class PilhaVetor<E> {
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	private Object[] itens;
+	private int tamanho;
+
+	public PilhaVetor() {
+
+		itens = new Object[CAPACIDADE_INICIAL];
+	}
+
+	private PilhaVetor(Object[] itens) {
+
+		this.itens = itens;
+		this.tamanho = itens.length;
+	}
+
+	public boolean vazia() {
+		return tamanho == 0;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	public void empilhar(E item) {
+
+		if (tamanho == itens.length) {
+			itens = Arrays.copyOf(itens, Math.max(CAPACIDADE_INICIAL, itens.length * 2));
+		}
+		itens[tamanho++] = item;
+	}
+
+	public E desempilhar() {
+
+		E desempilhado = consultarTopo();
+		itens[--tamanho] = null; // Libera a posição para o coletor de lixo
+		return desempilhado;
+
+	}
+
+	@SuppressWarnings("unchecked")
+	public E consultarTopo() {
+
+		if (vazia()) {
+			throw new NoSuchElementException("Nao há nenhum item na pilha!");
+		}
+
+		return (E) itens[tamanho - 1];
+
+	}
+
+	/**
+	 * Retorna uma nova pilha com os 'numItens' itens do topo desta, na mesma ordem.
+	 * @param numItens Quantidade de itens do topo.
+	 * @return A subpilha com os itens do topo.
+	 * @throws IllegalArgumentException se a pilha tiver menos que 'numItens' itens.
+	 */
+	public PilhaVetor<E> subPilha(int numItens) {
+
+		if (numItens < 0 || numItens > tamanho) {
+			throw new IllegalArgumentException("Não há essa quantidade de itens na pilha!");
+		}
+
+		return new PilhaVetor<>(Arrays.copyOfRange(itens, tamanho - numItens, tamanho));
+	}
+
+	public void imprimir() {
+
+		if (vazia())
+			System.out.println("A pilha está vazia!");
+		else {
+			for (int i = tamanho - 1; i >= 0; i--) {
+				System.out.println(itens[i]);
+			}
+		}
+	}
+}
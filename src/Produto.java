@@ -1,12 +1,15 @@
 import java.text.NumberFormat;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Locale; // Adicionado baseado no uso de NumberFormat
 
 public abstract class Produto implements Comparable<Produto> {
     private static final double MARGEM_PADRAO = 0.2;
     private static int ultimoID = 10_000;
 
+    /** Formatador de moeda reaproveitado entre chamadas (NumberFormat não é seguro para várias threads) */
+    private static final ThreadLocal<NumberFormat> MOEDA =
+        ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("pt", "BR")));
+
     protected int idProduto;
     protected String descricao;
     protected double precoCusto;
@@ -38,7 +41,7 @@ public abstract class Produto implements Comparable<Produto> {
 
     @Override
     public String toString(){
-        NumberFormat moeda = NumberFormat.getCurrencyInstance(new Locale("pt", "BR")); // Especifica Locale aqui
+        NumberFormat moeda = MOEDA.get();
         return String.format("%05d - %s: %s", idProduto, descricao, moeda.format(valorDeVenda())); // Usa 5 dígitos para ID como na versão corrigida
     }
 
@@ -59,37 +62,67 @@ public abstract class Produto implements Comparable<Produto> {
         }
     }
 
-    static Produto criarDoTexto(String linha) throws IllegalArgumentException, DateTimeParseException { // Adiciona throws
-        Produto novoProduto = null;
-        String[] detalhes = linha.split(";");
-        if (detalhes.length < 4 || detalhes.length > 5) { // Validação básica do número de campos
-            throw new IllegalArgumentException("Formato inválido da linha: " + linha);
+    static Produto criarDoTexto(String linha) throws IllegalArgumentException {
+        StringBuilder motivoErro = new StringBuilder();
+        DecodificadorProduto decodificador =
+            new DecodificadorProduto((numeroLinha, texto, motivo) -> motivoErro.append(motivo));
+        if (!decodificador.decodificar(linha, 0)) {
+            throw new IllegalArgumentException(motivoErro + " na linha: " + linha);
         }
+        return criar(decodificador);
+    }
+
+    /**
+     * Cria o produto correspondente à última linha lida pelo decodificador.
+     * @param campos Decodificador cuja última linha foi lida com sucesso.
+     * @return O produto criado.
+     * @throws IllegalArgumentException se os dados não formarem um produto válido.
+     */
+    static Produto criar(DecodificadorProduto campos) throws IllegalArgumentException {
+        return criar(campos.tipo(), campos.descricao(), campos.precoCusto(), campos.margemLucro(), campos.diaValidade());
+    }
+
+    /**
+     * Cria um produto a partir dos campos lidos do arquivo. Deve ser chamado na ordem do arquivo,
+     * pois é aqui que o código do produto é atribuído.
+     * @param tipo Tipo do produto (DecodificadorProduto.NAO_PERECIVEL ou PERECIVEL).
+     * @param descricao Descrição do produto.
+     * @param precoCusto Preço de custo.
+     * @param margemLucro Margem de lucro.
+     * @param diaValidade Validade em dias desde 01/01/1970 (ignorada para não perecíveis).
+     * @return O produto criado.
+     * @throws IllegalArgumentException se os dados não formarem um produto válido.
+     */
+    static Produto criar(int tipo, String descricao, double precoCusto, double margemLucro, long diaValidade)
+            throws IllegalArgumentException {
         try {
-            String tipo = detalhes[0].trim();
-            String descr = detalhes[1].trim();
-            double precoCusto = Double.parseDouble(detalhes[2].trim().replace(",", "."));
-            double margem = Double.parseDouble(detalhes[3].trim().replace(",", "."));
-            if(tipo.equals("1")){
-                 if (detalhes.length != 4) throw new IllegalArgumentException("Formato inválido (esperado 4 campos para tipo 1): " + linha);
-                novoProduto = new ProdutoNaoPerecivel(descr, precoCusto, margem);
-            }
-            else if (tipo.equals("2")){
-                 if (detalhes.length != 5) throw new IllegalArgumentException("Formato inválido (esperado 5 campos para tipo 2): " + linha);
-                LocalDate dataValidade =
-                    LocalDate.parse(detalhes[4].trim(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-                novoProduto = new ProdutoPerecivel(descr, precoCusto, margem, dataValidade);
-            } else {
-                 throw new IllegalArgumentException("Tipo de produto inválido '" + tipo + "' na linha: " + linha);
+            if (tipo == DecodificadorProduto.PERECIVEL) {
+                return new ProdutoPerecivel(descricao, precoCusto, margemLucro, LocalDate.ofEpochDay(diaValidade));
             }
-        } catch (NumberFormatException e) {
-             throw new IllegalArgumentException("Erro ao converter número na linha: " + linha, e);
-        } catch (DateTimeParseException e) {
-             throw new DateTimeParseException("Erro ao converter data (use dd/MM/yyyy) na linha: " + linha, e.getParsedString(), e.getErrorIndex(), e);
+            return new ProdutoNaoPerecivel(descricao, precoCusto, margemLucro);
         } catch (IllegalArgumentException e) { // Captura exceções dos construtores
-             throw new IllegalArgumentException("Erro nos dados do produto: " + e.getMessage() + " Linha: " + linha, e);
+            throw new IllegalArgumentException("Erro nos dados do produto: " + e.getMessage(), e);
         }
-        return novoProduto;
+    }
+
+    /**
+     * Recria um produto gravado em um retrato binário do catálogo, mantendo o código que ele recebeu na carga
+     * do arquivo de texto. Os dados passam pelas mesmas validações de criar.
+     * @param idProduto Código gravado no retrato.
+     * @param tipo Tipo do produto (DecodificadorProduto.NAO_PERECIVEL ou PERECIVEL).
+     * @param descricao Descrição do produto.
+     * @param precoCusto Preço de custo.
+     * @param margemLucro Margem de lucro.
+     * @param diaValidade Validade em dias desde 01/01/1970 (ignorada para não perecíveis).
+     * @return O produto recriado.
+     * @throws IllegalArgumentException se os dados não formarem um produto válido.
+     */
+    static Produto restaurar(int idProduto, int tipo, String descricao, double precoCusto, double margemLucro, long diaValidade)
+            throws IllegalArgumentException {
+        Produto produto = criar(tipo, descricao, precoCusto, margemLucro, diaValidade);
+        produto.idProduto = idProduto;
+        ultimoID = Math.max(ultimoID, idProduto + 1);
+        return produto;
     }
 
     public abstract String gerarDadosTexto();
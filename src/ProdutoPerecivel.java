@@ -1,33 +1,42 @@
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 
 public class ProdutoPerecivel extends Produto{
 
-    private static final double DESCONTO = 0.25;
-    private static final int PRAZO_DESCONTO = 7;
+    static final double DESCONTO = 0.25;
+    static final int PRAZO_DESCONTO = 7;
     private LocalDate dataDeValidade;
+
+    /** Preços de venda sem e com desconto, e o primeiro dia (desde 01/01/1970) em que o desconto vale */
+    private final double valorSemDesconto;
+    private final double valorComDesconto;
+    private final long inicioDoDesconto;
     private static final DateTimeFormatter FORMATADOR_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public ProdutoPerecivel(String descricao, double precoCusto, double margemLucro, LocalDate validade){
         super(descricao, precoCusto, margemLucro);
-        if(validade == null || validade.isBefore(LocalDate.now())) {
+        if(validade == null || validade.isBefore(RelogioPrecos.hoje())) {
              throw new IllegalArgumentException("Data de validade inválida (nula ou anterior ao dia de hoje)!");
         }
         this.dataDeValidade = validade;
+        this.valorSemDesconto = precoCusto * (1 + margemLucro);
+        this.valorComDesconto = valorSemDesconto * (1 - DESCONTO);
+        this.inicioDoDesconto = validade.toEpochDay() - PRAZO_DESCONTO;
     }
 
+    /**
+     * Valor de venda no dia atual do RelogioPrecos: com desconto quando faltam PRAZO_DESCONTO dias ou menos
+     * para a validade. Os dois preços possíveis são calculados na criação do produto, e a virada do dia
+     * só muda o resultado para quem entra no prazo de desconto.
+     */
     @Override
     public double valorDeVenda() {
-        double valorSemDesconto = precoCusto * (1 + margemLucro);
-        double descontoAplicado = 0d;
-        long diasValidade = ChronoUnit.DAYS.between(LocalDate.now(), dataDeValidade);
+        return (RelogioPrecos.diaAtual() >= inicioDoDesconto) ? valorComDesconto : valorSemDesconto;
+    }
 
-        if(diasValidade <= PRAZO_DESCONTO) {
-            descontoAplicado = DESCONTO;
-        }
-        return valorSemDesconto * (1 - descontoAplicado);
+    public LocalDate getDataDeValidade() {
+        return dataDeValidade;
     }
 
     @Override
@@ -0,0 +1,14 @@
+/**
+ * Recebe os erros encontrados na leitura de linhas do arquivo de dados, no lugar de exceções.
+ */
+@FunctionalInterface
+public interface ReceptorDeErros {
+
+    /**
+     * Registra um erro de leitura.
+     * @param numeroLinha Número da linha no texto de origem (a partir de 1), ou 0 se desconhecido.
+     * @param linha Texto da linha com erro.
+     * @param motivo Descrição do problema encontrado.
+     */
+    void registrar(long numeroLinha, String linha, String motivo);
+}
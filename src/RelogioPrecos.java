@@ -0,0 +1,92 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data usada no cálculo de preços. Guarda o dia atual já convertido, de modo que o cálculo do preço
+ * não consulta o relógio do sistema, e todos os preços de uma mesma avaliação usam o mesmo dia.
+ * O dia é avançado por uma tarefa agendada para a meia-noite (iniciarVirada) ou manualmente (atualizar).
+ * O relógio pode ser substituído, por exemplo para simular outra data.
+ */
+public final class RelogioPrecos {
+
+    private static volatile Clock relogio = Clock.systemDefaultZone();
+    private static volatile long diaAtual = LocalDate.now(relogio).toEpochDay();
+    private static ScheduledExecutorService agendador;
+
+    private RelogioPrecos() {
+    }
+
+    /**
+     * Retorna o dia atual para fins de preço.
+     * @return Dias desde 01/01/1970.
+     */
+    public static long diaAtual() {
+        return diaAtual;
+    }
+
+    /**
+     * Retorna a data atual para fins de preço.
+     * @return A data do dia atual.
+     */
+    public static LocalDate hoje() {
+        return LocalDate.ofEpochDay(diaAtual);
+    }
+
+    /**
+     * Substitui o relógio usado para determinar o dia e atualiza o dia atual.
+     * @param novoRelogio Relógio a ser usado (não nulo).
+     */
+    public static synchronized void usarRelogio(Clock novoRelogio) {
+        if (novoRelogio == null)
+            throw new IllegalArgumentException("O relógio de preços não pode ser nulo!");
+        relogio = novoRelogio;
+        atualizar();
+    }
+
+    /** Lê o relógio e atualiza o dia atual. */
+    public static void atualizar() {
+        diaAtual = LocalDate.now(relogio).toEpochDay();
+    }
+
+    /**
+     * Agenda a virada do dia para cada meia-noite, em uma thread daemon. Chamadas repetidas não criam novos agendamentos.
+     */
+    public static synchronized void iniciarVirada() {
+        if (agendador != null) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "virada-do-dia");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendarProximaVirada();
+    }
+
+    /** Cancela a virada automática do dia. */
+    public static synchronized void pararVirada() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+            agendador = null;
+        }
+    }
+
+    /** Agenda uma única virada para a próxima meia-noite; cada virada agenda a seguinte, acompanhando mudanças de horário. */
+    private static synchronized void agendarProximaVirada() {
+        if (agendador == null) {
+            return;
+        }
+        ZonedDateTime agora = ZonedDateTime.now(relogio);
+        ZonedDateTime meiaNoite = agora.toLocalDate().plusDays(1).atStartOfDay(agora.getZone());
+        long espera = Math.max(0, Duration.between(agora, meiaNoite).toMillis());
+        agendador.schedule(() -> {
+            atualizar();
+            agendarProximaVirada();
+        }, espera, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,98 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Escreve listas (como o catálogo de produtos) diretamente em um Writer com buffer, uma linha por elemento,
+ * no mesmo formato de Lista.toString ("Posição i: elemento"), sem montar o texto inteiro em memória.
+ * Permite listar por páginas: a partir de uma posição, com limite de linhas, ou continuando de um cursor guardado.
+ */
+public class RenderizadorCatalogo {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final BufferedWriter saida;
+
+    /**
+     * Cria um renderizador que escreve no Writer indicado.
+     * @param destino Destino do texto. Não é fechado pelo renderizador.
+     */
+    public RenderizadorCatalogo(Writer destino) {
+        this.saida = (destino instanceof BufferedWriter) ? (BufferedWriter) destino : new BufferedWriter(destino, TAMANHO_BUFFER);
+    }
+
+    /**
+     * Cria um renderizador que escreve no PrintStream indicado (por exemplo, System.out), na codificação padrão.
+     * @param destino Destino do texto. Não é fechado pelo renderizador.
+     */
+    public RenderizadorCatalogo(PrintStream destino) {
+        this(new OutputStreamWriter(destino));
+    }
+
+    /**
+     * Escreve todos os elementos da lista.
+     * @param lista Lista a ser escrita.
+     * @return Quantidade de elementos escritos.
+     */
+    public <E> int renderizar(Lista<E> lista) {
+        return renderizar(lista, 0, lista.tamanho());
+    }
+
+    /**
+     * Escreve até 'limite' elementos da lista, a partir da posição indicada.
+     * @param lista Lista a ser escrita.
+     * @param deslocamento Posição do primeiro elemento a escrever (0 <= deslocamento <= tamanho).
+     * @param limite Quantidade máxima de elementos a escrever.
+     * @return Quantidade de elementos escritos.
+     * @throws IndexOutOfBoundsException em caso de posição inválida.
+     */
+    public <E> int renderizar(Lista<E> lista, int deslocamento, int limite) {
+        return renderizar(lista.cursor(deslocamento), limite);
+    }
+
+    /**
+     * Escreve a página indicada da lista.
+     * @param lista Lista a ser escrita.
+     * @param pagina Número da página, a partir de 0.
+     * @param tamanhoPagina Quantidade de elementos por página (maior que zero).
+     * @return Quantidade de elementos escritos (0 se a página estiver além do fim da lista).
+     */
+    public <E> int renderizarPagina(Lista<E> lista, int pagina, int tamanhoPagina) {
+        long deslocamento = (long) pagina * tamanhoPagina;
+        if (pagina < 0 || tamanhoPagina <= 0)
+            throw new IllegalArgumentException("Página inválida: " + pagina + " (tamanho " + tamanhoPagina + ")");
+        if (deslocamento >= lista.tamanho()) {
+            return 0;
+        }
+        return renderizar(lista, (int) deslocamento, tamanhoPagina);
+    }
+
+    /**
+     * Escreve até 'limite' elementos a partir da posição atual do cursor, que fica estacionado logo após
+     * o último elemento escrito, pronto para a próxima página.
+     * @param cursor Cursor sobre a lista.
+     * @param limite Quantidade máxima de elementos a escrever.
+     * @return Quantidade de elementos escritos.
+     */
+    public <E> int renderizar(Lista<E>.Cursor cursor, int limite) {
+        int escritos = 0;
+        try {
+            while (escritos < limite && cursor.hasNext()) {
+                int posicao = cursor.posicao();
+                saida.write("Posição ");
+                saida.write(Integer.toString(posicao));
+                saida.write(": ");
+                saida.write(String.valueOf(cursor.next()));
+                saida.write('\n');
+                escritos++;
+            }
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao escrever a listagem: " + e.getMessage(), e);
+        }
+        return escritos;
+    }
+}
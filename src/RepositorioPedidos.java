@@ -0,0 +1,90 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Repositório dos pedidos finalizados, seguro para uso por várias sessões ao mesmo tempo.
+ * Os pedidos ficam em uma Lista protegida pelo monitor do repositório e, se houver diário, são gravados
+ * nele na mesma ordem em que entram na lista. A espera pela gravação em disco é feita fora do monitor,
+ * de modo que pedidos finalizados por sessões diferentes são confirmados juntos pelo diário.
+ */
+public class RepositorioPedidos {
+
+    private static final Metricas.Histograma FINALIZACAO = Metricas.histograma("pedido.finalizar", "ns");
+    private static final Metricas.Contador PEDIDOS_FINALIZADOS = Metricas.contador("pedido.finalizados");
+    private static final Metricas.Contador FALHAS_DIARIO = Metricas.contador("pedido.falhasNoDiario");
+
+    private final Lista<Pedido> pedidos;
+    private final DiarioPedidos diario;
+
+    /**
+     * Cria um repositório sobre a lista de pedidos indicada.
+     * @param pedidos Lista que recebe os pedidos finalizados; não deve ser alterada diretamente enquanto o repositório estiver em uso.
+     * @param diario Diário em que os pedidos são gravados, ou null para manter os pedidos apenas em memória.
+     */
+    public RepositorioPedidos(Lista<Pedido> pedidos, DiarioPedidos diario) {
+        this.pedidos = pedidos;
+        this.diario = diario;
+    }
+
+    /**
+     * Inclui um pedido finalizado e, se houver diário, espera a confirmação de que ele está no disco.
+     * @param pedido Pedido finalizado, não vazio.
+     * @return true se o pedido foi gravado no diário (ou não há diário); false se a gravação falhou, caso em que
+     * o pedido foi incluído mesmo assim, mas fica apenas em memória e será perdido ao encerrar.
+     * @throws IllegalStateException se o diário já estiver fechado; nesse caso o pedido NÃO é incluído.
+     */
+    public boolean finalizar(Pedido pedido) {
+        EventosDesempenho.FinalizacaoPedido evento = new EventosDesempenho.FinalizacaoPedido();
+        long inicio = EventosDesempenho.iniciar(evento);
+        CompletableFuture<Void> gravacao;
+        synchronized (this) {
+            try {
+                gravacao = (diario != null) ? diario.registrar(pedido) : null;
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("O pedido não foi finalizado: " + e.getMessage(), e);
+            }
+            pedidos.inserir(pedido);
+        }
+        try {
+            if (gravacao != null) {
+                gravacao.join();
+            }
+            return true;
+        } catch (CompletionException e) {
+            FALHAS_DIARIO.incrementar();
+            System.err.println("Não foi possível gravar o pedido no diário: " + e.getCause());
+            return false;
+        } finally {
+            PEDIDOS_FINALIZADOS.incrementar();
+            if (EventosDesempenho.concluir(evento, FINALIZACAO, inicio)) {
+                evento.gravar(pedido.getItens().tamanho(), pedido.valorFinal(), gravacao != null && !gravacao.isCompletedExceptionally());
+            }
+        }
+    }
+
+    /**
+     * Retorna o pedido finalizado de uma posição.
+     * @param posicao Posição do pedido, a partir de 0, na ordem de finalização.
+     * @return O pedido da posição indicada.
+     * @throws IndexOutOfBoundsException se a posição for inválida.
+     */
+    public synchronized Pedido pedidoNaPosicao(int posicao) {
+        return pedidos.elementoNaPosicao(posicao);
+    }
+
+    /**
+     * Retorna a quantidade de pedidos finalizados.
+     * @return Inteiro não negativo com a quantidade de pedidos.
+     */
+    public synchronized int tamanho() {
+        return pedidos.tamanho();
+    }
+
+    /**
+     * Calcula o valor total dos pedidos finalizados.
+     * @return Soma do valor final de todos os pedidos.
+     */
+    public synchronized double valorTotal() {
+        return pedidos.somar(Pedido::valorFinal);
+    }
+}
@@ -0,0 +1,290 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+/**
+ * Retrato binário do catálogo, gravado depois de uma carga bem-sucedida do arquivo de texto e lido com
+ * mapeamento em memória nas partidas seguintes, sem interpretar texto.
+ *
+ * Formato (versão 1, inteiros em big-endian):
+ * - cabeçalho de 64 bytes: assinatura, versão, tamanho e data de modificação do arquivo de texto de origem,
+ *   dia da gravação, quantidade de produtos, quantidade de descrições distintas, tamanho da tabela de textos
+ *   e CRC32 de tudo o que vem depois do cabeçalho;
+ * - colunas de largura fixa, na ordem do catálogo: códigos (int), custos (double), margens (double),
+ *   validades (long, CatalogoColunar.VALIDADE_INDETERMINADA para não perecíveis) e código da descrição (int);
+ * - a ordem alfabética do catálogo: as posições dos produtos na ordem do índice alfabético (int), para que o
+ *   índice seja montado sem comparar descrições;
+ * - tabela de textos: a posição final de cada descrição (int) seguida das descrições em UTF-8.
+ *
+ * O retrato só é usado se o arquivo de texto não mudou (mesmo tamanho e data de modificação) e se foi gravado
+ * no dia atual do RelogioPrecos, já que a validação dos perecíveis depende do dia; caso contrário, vale o texto.
+ */
+public class RetratoBinario {
+
+    /** "PRDB" em ASCII */
+    private static final int ASSINATURA = 0x50524442;
+    static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 64;
+
+    /** Posição do CRC32 no cabeçalho */
+    private static final int POSICAO_CRC = 48;
+
+    /** Bytes por produto nas colunas de largura fixa: código, custo, margem, validade, código da descrição e ordem */
+    private static final long BYTES_POR_PRODUTO = 4 + 8 + 8 + 8 + 4 + 4;
+
+    private static final int TAMANHO_BLOCO_ESCRITA = 1 << 20;
+
+    private RetratoBinario() {
+    }
+
+    /**
+     * Caminho do retrato correspondente a um arquivo de texto: o mesmo nome, com a extensão ".retrato" acrescentada.
+     * @param arquivoTexto Arquivo de texto de origem.
+     * @return Caminho do retrato, no mesmo diretório.
+     */
+    public static Path caminhoPara(Path arquivoTexto) {
+        return arquivoTexto.resolveSibling(arquivoTexto.getFileName() + ".retrato");
+    }
+
+    /**
+     * Grava o retrato do catálogo. A gravação é feita em um arquivo temporário, que substitui o retrato anterior
+     * apenas quando está completo.
+     * @param catalogo Catálogo recém-carregado do arquivo de texto.
+     * @param origem Atributos do arquivo de texto lidos ANTES da carga; o tamanho e a data de modificação vão no
+     *               cabeçalho, de modo que um arquivo alterado durante a carga deixa o retrato desatualizado.
+     * @param retrato Caminho do retrato.
+     * @throws IOException em caso de erro ao gravar.
+     */
+    public static void gravar(Catalogo catalogo, BasicFileAttributes origem, Path retrato) throws IOException {
+        CatalogoColunar colunas = new CatalogoColunar(catalogo);
+        int quantidade = colunas.tamanho();
+        int quantidadeDescricoes = colunas.quantidadeDescricoes();
+
+        byte[][] textos = new byte[quantidadeDescricoes][];
+        long tamanhoTextos = 0;
+        for (int i = 0; i < quantidadeDescricoes; i++) {
+            textos[i] = colunas.descricaoDoDicionario(i).getBytes(StandardCharsets.UTF_8);
+            tamanhoTextos += textos[i].length;
+        }
+        if (tamanhoTextos > Integer.MAX_VALUE)
+            throw new IOException("Descrições demais para o formato do retrato!");
+
+        Path temporario = retrato.resolveSibling(retrato.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritor escritor = new Escritor(canal, TAMANHO_CABECALHO);
+            for (int i = 0; i < quantidade; i++) {
+                escritor.inteiro(colunas.id(i));
+            }
+            for (int i = 0; i < quantidade; i++) {
+                escritor.real(colunas.precoCusto(i));
+            }
+            for (int i = 0; i < quantidade; i++) {
+                escritor.real(colunas.margemLucro(i));
+            }
+            for (int i = 0; i < quantidade; i++) {
+                escritor.longo(colunas.validade(i));
+            }
+            for (int i = 0; i < quantidade; i++) {
+                escritor.inteiro(colunas.codigoDescricao(i));
+            }
+            TabelaHashInt<Integer> posicoes = new TabelaHashInt<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                posicoes.inserir(colunas.id(i), i);
+            }
+            for (IndiceAlfabetico.Percurso percurso = catalogo.emOrdemAlfabetica(""); percurso.hasNext(); ) {
+                escritor.inteiro(posicoes.buscar(percurso.next().hashCode()));
+            }
+            int fim = 0;
+            for (byte[] texto : textos) {
+                fim += texto.length;
+                escritor.inteiro(fim);
+            }
+            for (byte[] texto : textos) {
+                escritor.bytes(texto);
+            }
+            escritor.descarregar();
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            cabecalho.putInt(ASSINATURA);
+            cabecalho.putInt(VERSAO);
+            cabecalho.putLong(origem.size());
+            cabecalho.putLong(origem.lastModifiedTime().toMillis());
+            cabecalho.putLong(RelogioPrecos.diaAtual());
+            cabecalho.putInt(quantidade);
+            cabecalho.putInt(quantidadeDescricoes);
+            cabecalho.putLong(tamanhoTextos);
+            cabecalho.putLong(escritor.crc.getValue());
+            cabecalho.clear();
+            while (cabecalho.hasRemaining()) {
+                canal.write(cabecalho, cabecalho.position());
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, retrato, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carrega o catálogo a partir do retrato, se ele existir e estiver atualizado em relação ao arquivo de texto.
+     * @param arquivoTexto Arquivo de texto de origem.
+     * @param retrato Caminho do retrato.
+     * @return O catálogo, com os mesmos códigos de produto da carga do texto, ou null se o retrato não existir,
+     *         estiver desatualizado ou inválido (nesse caso, o arquivo de texto deve ser lido).
+     * @throws IOException em caso de erro ao ler o retrato.
+     */
+    public static Catalogo carregar(Path arquivoTexto, Path retrato) throws IOException {
+        if (!Files.isRegularFile(retrato) || !Files.isRegularFile(arquivoTexto)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(retrato, StandardOpenOption.READ)) {
+            long tamanhoRetrato = canal.size();
+            if (tamanhoRetrato < TAMANHO_CABECALHO || tamanhoRetrato > Integer.MAX_VALUE) {
+                return invalido("tamanho inesperado");
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanhoRetrato);
+
+            if (mapa.getInt(0) != ASSINATURA) {
+                return invalido("assinatura desconhecida");
+            }
+            if (mapa.getInt(4) != VERSAO) {
+                return invalido("versão " + mapa.getInt(4) + " não suportada");
+            }
+            if (mapa.getLong(8) != Files.size(arquivoTexto)
+                    || mapa.getLong(16) != Files.getLastModifiedTime(arquivoTexto).toMillis()
+                    || mapa.getLong(24) != RelogioPrecos.diaAtual()) {
+                return null; // Desatualizado: o texto mudou ou o retrato é de outro dia
+            }
+            int quantidade = mapa.getInt(32);
+            int quantidadeDescricoes = mapa.getInt(36);
+            long tamanhoTextos = mapa.getLong(40);
+            if (quantidade < 0 || quantidadeDescricoes < 0 || tamanhoTextos < 0
+                    || tamanhoRetrato != TAMANHO_CABECALHO + quantidade * BYTES_POR_PRODUTO + quantidadeDescricoes * 4L + tamanhoTextos) {
+                return invalido("tamanho inesperado");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(mapa.duplicate().position(TAMANHO_CABECALHO));
+            if (crc.getValue() != mapa.getLong(POSICAO_CRC)) {
+                return invalido("soma de verificação não confere");
+            }
+
+            int inicioIds = TAMANHO_CABECALHO;
+            int inicioCustos = inicioIds + quantidade * 4;
+            int inicioMargens = inicioCustos + quantidade * 8;
+            int inicioValidades = inicioMargens + quantidade * 8;
+            int inicioCodigos = inicioValidades + quantidade * 8;
+            int inicioOrdem = inicioCodigos + quantidade * 4;
+            int inicioFins = inicioOrdem + quantidade * 4;
+            int inicioTextos = inicioFins + quantidadeDescricoes * 4;
+
+            byte[] textos = new byte[(int) tamanhoTextos];
+            mapa.get(inicioTextos, textos);
+            String[] descricoes = new String[quantidadeDescricoes];
+            int inicio = 0;
+            for (int i = 0; i < quantidadeDescricoes; i++) {
+                int fim = mapa.getInt(inicioFins + i * 4);
+                if (fim < inicio || fim > textos.length) {
+                    return invalido("tabela de textos inconsistente");
+                }
+                descricoes[i] = new String(textos, inicio, fim - inicio, StandardCharsets.UTF_8);
+                inicio = fim;
+            }
+
+            Produto[] produtos = new Produto[quantidade];
+            int[] ordemAlfabetica = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                int codigo = mapa.getInt(inicioCodigos + i * 4);
+                long validade = mapa.getLong(inicioValidades + i * 8);
+                if (codigo < 0 || codigo >= quantidadeDescricoes) {
+                    return invalido("código de descrição inválido");
+                }
+                int tipo = (validade == CatalogoColunar.VALIDADE_INDETERMINADA)
+                        ? DecodificadorProduto.NAO_PERECIVEL : DecodificadorProduto.PERECIVEL;
+                ordemAlfabetica[i] = mapa.getInt(inicioOrdem + i * 4);
+                if (ordemAlfabetica[i] < 0 || ordemAlfabetica[i] >= quantidade) {
+                    return invalido("ordem alfabética inválida");
+                }
+                try {
+                    produtos[i] = Produto.restaurar(mapa.getInt(inicioIds + i * 4), tipo, descricoes[codigo],
+                            mapa.getDouble(inicioCustos + i * 8), mapa.getDouble(inicioMargens + i * 8), validade);
+                } catch (IllegalArgumentException e) {
+                    return invalido(e.getMessage());
+                }
+            }
+
+            Catalogo catalogo = new Catalogo(quantidade);
+            try {
+                catalogo.inserirEmOrdem(produtos, ordemAlfabetica);
+            } catch (IllegalArgumentException e) {
+                return invalido(e.getMessage());
+            }
+            return catalogo;
+        }
+    }
+
+    private static Catalogo invalido(String motivo) {
+        System.err.println("Retrato binário do catálogo ignorado (" + motivo + "); lendo o arquivo de texto.");
+        return null;
+    }
+
+    /** Escrita sequencial em blocos, acumulando o CRC32 de tudo o que é gravado. */
+    private static final class Escritor {
+
+        private final FileChannel canal;
+        private final ByteBuffer bloco = ByteBuffer.allocate(TAMANHO_BLOCO_ESCRITA);
+        private final CRC32 crc = new CRC32();
+        private long posicao;
+
+        private Escritor(FileChannel canal, long posicao) {
+            this.canal = canal;
+            this.posicao = posicao;
+        }
+
+        private void inteiro(int valor) throws IOException {
+            reservar(4);
+            bloco.putInt(valor);
+        }
+
+        private void longo(long valor) throws IOException {
+            reservar(8);
+            bloco.putLong(valor);
+        }
+
+        private void real(double valor) throws IOException {
+            reservar(8);
+            bloco.putDouble(valor);
+        }
+
+        private void bytes(byte[] valor) throws IOException {
+            int gravados = 0;
+            while (gravados < valor.length) {
+                reservar(1);
+                int parte = Math.min(bloco.remaining(), valor.length - gravados);
+                bloco.put(valor, gravados, parte);
+                gravados += parte;
+            }
+        }
+
+        private void reservar(int bytes) throws IOException {
+            if (bloco.remaining() < bytes) {
+                descarregar();
+            }
+        }
+
+        private void descarregar() throws IOException {
+            bloco.flip();
+            crc.update(bloco.duplicate());
+            while (bloco.hasRemaining()) {
+                posicao += canal.write(bloco, posicao);
+            }
+            bloco.clear();
+        }
+    }
+}
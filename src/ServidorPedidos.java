@@ -0,0 +1,220 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor de sessões de pedido simultâneas, em um socket local (apenas na interface de loopback).
+ * Cada conexão é uma sessão com o seu próprio pedido em andamento (veja SessaoPedido para os comandos),
+ * atendida em uma thread própria: virtual, quando a JVM oferece threads virtuais, ou de um pool de threads
+ * de plataforma, caso contrário. O catálogo é compartilhado apenas para consulta e os pedidos finalizados vão
+ * para um RepositorioPedidos comum a todas as sessões.
+ *
+ * Protocolo: texto em UTF-8, um comando por linha. Cada comando recebe uma linha de resposta, que começa com
+ * "ERRO " em caso de falha. O comando "sair" encerra a sessão; ao desconectar, o pedido em andamento é descartado.
+ */
+public class ServidorPedidos implements AutoCloseable {
+
+    /** Quantidade máxima de conexões aguardando aceitação */
+    private static final int FILA_CONEXOES = 128;
+
+    /** Espera, em milissegundos, depois de uma falha ao aceitar conexão; dobra a cada falha seguida até o máximo */
+    private static final long ESPERA_INICIAL_ERRO_MS = 10;
+    private static final long ESPERA_MAXIMA_ERRO_MS = 1_000;
+
+    private final ServerSocket socketServidor;
+    private final Catalogo catalogo;
+    private final RepositorioPedidos repositorio;
+    private final ExecutorService executor;
+    private final Thread aceitador;
+    private final Set<Socket> conexoes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessoesAtendidas = new AtomicInteger();
+    private volatile boolean encerrado;
+
+    private ServidorPedidos(ServerSocket socketServidor, Catalogo catalogo, RepositorioPedidos repositorio) {
+        this.socketServidor = socketServidor;
+        this.catalogo = catalogo;
+        this.repositorio = repositorio;
+        this.executor = criarExecutor();
+        this.aceitador = new Thread(this::aceitarConexoes, "servidor-pedidos");
+    }
+
+    /**
+     * Abre o servidor na porta indicada e começa a aceitar conexões.
+     * @param porta Porta local (0 para uma porta livre qualquer).
+     * @param catalogo Catálogo carregado, que não deve mais ser alterado.
+     * @param repositorio Repositório que recebe os pedidos finalizados pelas sessões.
+     * @return O servidor em funcionamento.
+     * @throws IOException se não for possível abrir o socket na porta indicada.
+     */
+    public static ServidorPedidos iniciar(int porta, Catalogo catalogo, RepositorioPedidos repositorio) throws IOException {
+        ServerSocket socketServidor = new ServerSocket(porta, FILA_CONEXOES, InetAddress.getLoopbackAddress());
+        ServidorPedidos servidor = new ServidorPedidos(socketServidor, catalogo, repositorio);
+        servidor.aceitador.start();
+        return servidor;
+    }
+
+    /**
+     * Cria o executor das sessões: uma thread virtual por sessão, se a JVM tiver threads virtuais (Java 21 ou
+     * posterior), procuradas por reflexão para que o código continue compilando e rodando em versões anteriores.
+     * Sem elas, usa um pool de threads de plataforma que cresce conforme a quantidade de sessões abertas.
+     */
+    private static ExecutorService criarExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            AtomicInteger contador = new AtomicInteger();
+            return Executors.newCachedThreadPool(tarefa -> {
+                Thread thread = new Thread(tarefa, "sessao-pedido-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Retorna a porta em que o servidor está escutando.
+     * @return Número da porta local.
+     */
+    public int porta() {
+        return socketServidor.getLocalPort();
+    }
+
+    /**
+     * Retorna a quantidade de sessões aceitas desde o início do servidor.
+     * @return Inteiro não negativo com a quantidade de sessões.
+     */
+    public int sessoesAtendidas() {
+        return sessoesAtendidas.get();
+    }
+
+    /**
+     * Espera até que o servidor seja encerrado.
+     * @throws InterruptedException se a thread for interrompida durante a espera.
+     */
+    public void aguardar() throws InterruptedException {
+        aceitador.join();
+    }
+
+    /**
+     * Laço da thread aceitadora. Depois de uma falha ao aceitar (por exemplo, limite de arquivos abertos atingido)
+     * espera um pouco antes de tentar de novo, com espera crescente enquanto as falhas se repetirem, e avisa apenas
+     * a primeira falha de cada sequência, em vez de girar sem parar imprimindo o mesmo erro.
+     */
+    private void aceitarConexoes() {
+        long espera = 0;
+        while (!encerrado) {
+            Socket conexao;
+            try {
+                conexao = socketServidor.accept();
+            } catch (IOException e) {
+                if (encerrado) {
+                    break;
+                }
+                if (espera == 0) {
+                    System.err.println("Erro ao aceitar conexão no servidor de pedidos: " + e.getMessage()
+                            + ". Novas tentativas serão feitas com espera crescente.");
+                }
+                espera = (espera == 0) ? ESPERA_INICIAL_ERRO_MS : Math.min(espera * 2, ESPERA_MAXIMA_ERRO_MS);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrupcao) {
+                    break;
+                }
+                continue;
+            }
+            espera = 0;
+            conexoes.add(conexao);
+            try {
+                if (encerrado) {
+                    throw new RejectedExecutionException("servidor encerrado");
+                }
+                executor.execute(() -> atender(conexao));
+                sessoesAtendidas.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                // Aceita enquanto close() encerrava o executor: a sessão não será atendida
+                conexoes.remove(conexao);
+                fecharSilenciosamente(conexao);
+            }
+        }
+    }
+
+    private static void fecharSilenciosamente(Socket conexao) {
+        try {
+            conexao.close();
+        } catch (IOException e) {
+            // A conexão já estava sendo encerrada
+        }
+    }
+
+    /** Atende uma sessão até o cliente enviar "sair" ou desconectar. */
+    private void atender(Socket conexao) {
+        SessaoPedido sessao = new SessaoPedido(catalogo, repositorio);
+        try (conexao;
+             BufferedReader entrada = new BufferedReader(new InputStreamReader(conexao.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter saida = new PrintWriter(new OutputStreamWriter(conexao.getOutputStream(), StandardCharsets.UTF_8))) {
+            saida.println("OK sessão iniciada; " + catalogo.tamanho() + " produtos no catálogo");
+            saida.flush();
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                if (linha.trim().equalsIgnoreCase("sair")) {
+                    saida.println("OK sessão encerrada");
+                    break;
+                }
+                String resposta;
+                try {
+                    resposta = sessao.executar(linha);
+                } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+                    resposta = "ERRO " + e.getMessage();
+                }
+                if (resposta != null) {
+                    saida.println(resposta);
+                    saida.flush();
+                }
+            }
+        } catch (SocketException e) {
+            // Conexão encerrada pelo cliente ou pelo fechamento do servidor
+        } catch (IOException e) {
+            System.err.println("Erro na sessão de pedido de " + conexao.getRemoteSocketAddress() + ": " + e.getMessage());
+        } finally {
+            conexoes.remove(conexao);
+        }
+    }
+
+    /**
+     * Encerra o servidor: deixa de aceitar conexões, fecha as sessões abertas (descartando os pedidos
+     * em andamento) e espera as sessões terminarem. Os pedidos já finalizados permanecem no repositório.
+     * @throws IOException em caso de erro ao fechar o socket do servidor.
+     */
+    @Override
+    public void close() throws IOException {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        socketServidor.close();
+        for (Socket conexao : conexoes) {
+            fecharSilenciosamente(conexao);
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            aceitador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
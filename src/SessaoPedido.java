@@ -0,0 +1,136 @@
+/**
+ * Sessão de pedidos sem interação com o teclado: interpreta comandos de texto, um por linha, sobre um catálogo
+ * compartilhado, mantendo o seu próprio pedido em andamento. Usada pelo modo em lote e pelo servidor de pedidos.
+ *
+ * Comandos (campos separados por ';', como no arquivo de produtos):
+ * - produto;CÓDIGO[;QUANTIDADE]     inclui o produto de código indicado no pedido em andamento (1 unidade por padrão);
+ * - descricao;DESCRIÇÃO[;QUANTIDADE] inclui o produto com a descrição indicada (sem distinção de maiúsculas);
+ * - finalizar                        finaliza o pedido em andamento e o envia para os pedidos finalizados;
+ * - cancelar                         descarta o pedido em andamento;
+ * - repeticoes;POSIÇÃO;DESCRIÇÃO     conta as unidades do produto no pedido finalizado da posição indicada.
+ * Linhas em branco e iniciadas por '#' são ignoradas. Um pedido é iniciado automaticamente pelo primeiro item.
+ */
+public class SessaoPedido {
+
+    private final Catalogo catalogo;
+    private final RepositorioPedidos finalizados;
+    private Pedido pedidoAtual;
+
+    /**
+     * Cria uma sessão sem pedido em andamento.
+     * @param catalogo Catálogo compartilhado, apenas para consulta.
+     * @param finalizados Repositório que recebe os pedidos finalizados pela sessão, possivelmente compartilhado com outras sessões.
+     */
+    public SessaoPedido(Catalogo catalogo, RepositorioPedidos finalizados) {
+        this.catalogo = catalogo;
+        this.finalizados = finalizados;
+    }
+
+    /**
+     * Executa um comando.
+     * @param linha Linha com o comando.
+     * @return Resposta de uma linha descrevendo o resultado, ou null para linhas ignoradas.
+     * @throws IllegalArgumentException se o comando for desconhecido, estiver mal formado ou citar um produto inexistente.
+     * @throws IllegalStateException se o comando não puder ser executado no estado atual da sessão
+     * ou se o pedido finalizado não puder ser gravado no diário.
+     * @throws IndexOutOfBoundsException se a posição de pedido finalizado for inválida.
+     */
+    public String executar(String linha) {
+        String comando = linha.trim();
+        if (comando.isEmpty() || comando.startsWith("#")) {
+            return null;
+        }
+        String[] campos = comando.split(";", -1);
+        switch (campos[0].trim().toLowerCase()) {
+            case "produto":
+                exigirCampos(campos, 2, 3);
+                return incluir(produtoPorCodigo(campos[1]), quantidade(campos));
+            case "descricao":
+                exigirCampos(campos, 2, 3);
+                return incluir(produtoPorDescricao(campos[1]), quantidade(campos));
+            case "finalizar":
+                exigirCampos(campos, 1, 1);
+                return finalizar();
+            case "cancelar":
+                exigirCampos(campos, 1, 1);
+                pedidoAtual = null;
+                return "OK pedido cancelado";
+            case "repeticoes":
+                exigirCampos(campos, 3, 3);
+                return Integer.toString(repeticoes(inteiro(campos[1], "posição do pedido"), campos[2].trim()));
+            default:
+                throw new IllegalArgumentException("Comando desconhecido: '" + campos[0].trim() + "'");
+        }
+    }
+
+    /**
+     * Retorna o pedido em andamento.
+     * @return O pedido em andamento ou null, se não houver.
+     */
+    public Pedido getPedidoAtual() {
+        return pedidoAtual;
+    }
+
+    private String incluir(Produto produto, int unidades) {
+        if (pedidoAtual == null) {
+            pedidoAtual = new Pedido();
+        }
+        pedidoAtual.incluirProduto(produto, unidades);
+        return "OK " + unidades + " x " + produto;
+    }
+
+    private String finalizar() {
+        if (pedidoAtual == null || pedidoAtual.vazio())
+            throw new IllegalStateException("Não há pedido em andamento para finalizar!");
+
+        Pedido pedido = pedidoAtual;
+        pedidoAtual = null;
+        if (!finalizados.finalizar(pedido)) {
+            return String.format("OK pedido finalizado: R$ %.2f (ATENÇÃO: não gravado no diário; será perdido ao encerrar)", pedido.valorFinal());
+        }
+        return String.format("OK pedido finalizado: R$ %.2f", pedido.valorFinal());
+    }
+
+    /**
+     * Conta as unidades de um produto, pela descrição, em um pedido finalizado.
+     * @param posicao Posição do pedido finalizado (a partir de 1, como no menu da aplicação).
+     * @param descricao Descrição do produto.
+     * @return Quantidade de unidades do produto no pedido.
+     */
+    private int repeticoes(int posicao, String descricao) {
+        return finalizados.pedidoNaPosicao(posicao - 1).repeticoes(descricao);
+    }
+
+    private Produto produtoPorCodigo(String campo) {
+        int idProduto = inteiro(campo, "código do produto");
+        Produto produto = catalogo.localizarPorId(idProduto);
+        if (produto == null)
+            throw new IllegalArgumentException("Produto com código " + idProduto + " não encontrado.");
+        return produto;
+    }
+
+    private Produto produtoPorDescricao(String campo) {
+        String descricao = campo.trim();
+        Produto produto = catalogo.localizarPorDescricao(descricao);
+        if (produto == null)
+            throw new IllegalArgumentException("Produto com descrição '" + descricao + "' não encontrado.");
+        return produto;
+    }
+
+    private static int quantidade(String[] campos) {
+        return (campos.length > 2) ? inteiro(campos[2], "quantidade") : 1;
+    }
+
+    private static int inteiro(String campo, String nome) {
+        try {
+            return Integer.parseInt(campo.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + nome + ": '" + campo.trim() + "'");
+        }
+    }
+
+    private static void exigirCampos(String[] campos, int minimo, int maximo) {
+        if (campos.length < minimo || campos.length > maximo)
+            throw new IllegalArgumentException("Quantidade de campos inválida para o comando '" + campos[0].trim() + "'");
+    }
+}
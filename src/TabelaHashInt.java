@@ -0,0 +1,142 @@
+import java.util.Arrays;
+
+/**
+ * Tabela hash de endereçamento aberto (sondagem linear) com chaves int primitivas.
+ * Evita o boxing de Integer e a célula por entrada de um HashMap comum.
+ * Valores nulos não são aceitos: uma posição com valor nulo é uma posição livre.
+ */
+public class TabelaHashInt<V> {
+
+	private static final double FATOR_CARGA = 0.5;
+
+	/** Maior capacidade (potência de 2) representável em um vetor Java */
+	private static final int CAPACIDADE_MAXIMA = 1 << 30;
+
+	/** Maior quantidade de entradas que a tabela comporta mantendo o fator de carga */
+	static final int QUANTIDADE_MAXIMA = (int) (CAPACIDADE_MAXIMA * FATOR_CARGA);
+
+	private int[] chaves;
+	private Object[] valores;
+	private int tamanho;
+	private int limite;
+
+	/** Cria uma tabela vazia com capacidade padrão */
+	public TabelaHashInt() {
+		this(16);
+	}
+
+	/**
+	 * Cria uma tabela dimensionada para receber a quantidade indicada de entradas sem redimensionar.
+	 * @param capacidadeEsperada Quantidade de entradas prevista (não negativa).
+	 * @throws IllegalArgumentException se a quantidade for negativa ou maior que QUANTIDADE_MAXIMA.
+	 */
+	public TabelaHashInt(int capacidadeEsperada) {
+		if (capacidadeEsperada < 0)
+			throw new IllegalArgumentException("Capacidade inválida para a tabela: " + capacidadeEsperada);
+		alocar(capacidadePara(capacidadeEsperada));
+	}
+
+	private static int capacidadePara(int quantidade) {
+		if (quantidade > QUANTIDADE_MAXIMA)
+			throw new IllegalArgumentException("Capacidade inválida para a tabela: " + quantidade
+					+ " (o máximo é " + QUANTIDADE_MAXIMA + " entradas)");
+		int necessario = (int) Math.ceil(Math.max(quantidade, 1) / FATOR_CARGA);
+		return Math.min(Integer.highestOneBit(necessario - 1) << 1, CAPACIDADE_MAXIMA);
+	}
+
+	private void alocar(int capacidade) {
+		chaves = new int[capacidade];
+		valores = new Object[capacidade];
+		limite = (int) (capacidade * FATOR_CARGA);
+	}
+
+	/** Espalha os bits da chave para que chaves sequenciais não formem blocos contíguos. */
+	private static int espalhar(int chave) {
+		int h = chave * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int posicaoDe(int chave) {
+		int mascara = chaves.length - 1;
+		int i = espalhar(chave) & mascara;
+		while (valores[i] != null && chaves[i] != chave) {
+			i = (i + 1) & mascara;
+		}
+		return i;
+	}
+
+	/**
+	 * Associa o valor à chave, substituindo o valor anterior, se houver.
+	 * @param chave Chave inteira.
+	 * @param valor Valor (não nulo).
+	 * @return O valor anteriormente associado à chave ou null, caso não houvesse.
+	 * @throws IllegalStateException se a tabela já tiver QUANTIDADE_MAXIMA entradas.
+	 */
+	@SuppressWarnings("unchecked")
+	public V inserir(int chave, V valor) {
+		if (valor == null)
+			throw new IllegalArgumentException("Não é possível inserir um valor nulo na tabela!");
+
+		int i = posicaoDe(chave);
+		V anterior = (V) valores[i];
+		if (anterior == null) {
+			if (tamanho >= limite) {
+				redimensionar();
+				i = posicaoDe(chave);
+			}
+			chaves[i] = chave;
+			tamanho++;
+		}
+		valores[i] = valor;
+		return anterior;
+	}
+
+	/**
+	 * Retorna o valor associado à chave.
+	 * @param chave Chave procurada.
+	 * @return O valor associado ou null, caso a chave não esteja na tabela.
+	 */
+	@SuppressWarnings("unchecked")
+	public V buscar(int chave) {
+		return (V) valores[posicaoDe(chave)];
+	}
+
+	/**
+	 * Indica se a chave está presente na tabela.
+	 * @param chave Chave procurada.
+	 * @return TRUE/FALSE conforme a chave esteja ou não na tabela.
+	 */
+	public boolean contem(int chave) {
+		return valores[posicaoDe(chave)] != null;
+	}
+
+	/**
+	 * Retorna a quantidade de entradas na tabela.
+	 * @return Inteiro não negativo com a quantidade de entradas.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/** Remove todas as entradas, mantendo a capacidade atual. */
+	public void limpar() {
+		Arrays.fill(valores, null);
+		tamanho = 0;
+	}
+
+	private void redimensionar() {
+		if (chaves.length == CAPACIDADE_MAXIMA)
+			throw new IllegalStateException("A tabela atingiu o máximo de " + QUANTIDADE_MAXIMA + " entradas!");
+		int[] chavesAntigas = chaves;
+		Object[] valoresAntigos = valores;
+
+		alocar(chavesAntigas.length << 1);
+		for (int i = 0; i < chavesAntigas.length; i++) {
+			if (valoresAntigos[i] != null) {
+				int j = posicaoDe(chavesAntigas[i]);
+				chaves[j] = chavesAntigas[i];
+				valores[j] = valoresAntigos[i];
+			}
+		}
+	}
+}